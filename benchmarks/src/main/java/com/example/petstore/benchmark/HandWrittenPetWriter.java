@@ -0,0 +1,132 @@
+package com.example.petstore.benchmark;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Reflection-free Pet writer. Field order and null handling match Gson's output.
+ */
+final class HandWrittenPetWriter {
+
+    private HandWrittenPetWriter() {
+    }
+
+    static byte[] toJson(Pet pet) {
+        StringBuilder out = new StringBuilder(64 + lengthOf(pet.getName()));
+        out.append('{');
+        boolean first = true;
+        if (pet.getCategory() != null) {
+            out.append("\"category\":");
+            writeCategory(out, pet.getCategory());
+            first = false;
+        }
+        first = writeLong(out, "id", pet.getId(), first);
+        first = writeString(out, "name", pet.getName(), first);
+        if (pet.getPhotoUrls() != null) {
+            first = comma(out, first);
+            out.append("\"photoUrls\":[");
+            List<String> photoUrls = pet.getPhotoUrls();
+            for (int i = 0; i < photoUrls.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeQuoted(out, photoUrls.get(i));
+            }
+            out.append(']');
+        }
+        first = writeString(out, "status", pet.getStatus(), first);
+        if (pet.getTags() != null) {
+            comma(out, first);
+            out.append("\"tags\":[");
+            List<Tag> tags = pet.getTags();
+            for (int i = 0; i < tags.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeTag(out, tags.get(i));
+            }
+            out.append(']');
+        }
+        out.append('}');
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeCategory(StringBuilder out, Category category) {
+        out.append('{');
+        boolean first = writeLong(out, "id", category.getId(), true);
+        writeString(out, "name", category.getName(), first);
+        out.append('}');
+    }
+
+    private static void writeTag(StringBuilder out, Tag tag) {
+        out.append('{');
+        boolean first = writeLong(out, "id", tag.getId(), true);
+        writeString(out, "name", tag.getName(), first);
+        out.append('}');
+    }
+
+    private static boolean writeLong(StringBuilder out, String field, Long value, boolean first) {
+        if (value == null) {
+            return first;
+        }
+        comma(out, first);
+        out.append('"').append(field).append("\":").append(value.longValue());
+        return false;
+    }
+
+    private static boolean writeString(StringBuilder out, String field, String value, boolean first) {
+        if (value == null) {
+            return first;
+        }
+        comma(out, first);
+        out.append('"').append(field).append("\":");
+        writeQuoted(out, value);
+        return false;
+    }
+
+    private static boolean comma(StringBuilder out, boolean first) {
+        if (!first) {
+            out.append(',');
+        }
+        return false;
+    }
+
+    private static void writeQuoted(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    private static int lengthOf(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.petstore.benchmark;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing a {@code /pet} response body back into a {@link Pet}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PetDeserializationBenchmark {
+
+    @Param({"5", "100", "1000", "10000"})
+    public int nameLength;
+
+    private final Gson gson = new Gson();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = gson.toJson(PetPayloads.pet(nameLength)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Pet gson() {
+        return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8), Pet.class);
+    }
+
+    @Benchmark
+    public Pet jacksonDatabind() throws IOException {
+        return objectMapper.readValue(body, Pet.class);
+    }
+
+    @Benchmark
+    public Pet jacksonStreaming() throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            parser.nextToken();
+            return readPet(parser);
+        }
+    }
+
+    private static Pet readPet(JsonParser parser) throws IOException {
+        Pet pet = new Pet();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id":
+                    pet.setId(parser.getLongValue());
+                    break;
+                case "name":
+                    pet.setName(parser.getText());
+                    break;
+                case "status":
+                    pet.setStatus(parser.getText());
+                    break;
+                case "category":
+                    Category category = new Category();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String categoryField = parser.getCurrentName();
+                        parser.nextToken();
+                        if (categoryField.equals("id")) {
+                            category.setId(parser.getLongValue());
+                        } else if (categoryField.equals("name")) {
+                            category.setName(parser.getText());
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    pet.setCategory(category);
+                    break;
+                case "photoUrls":
+                    List<String> photoUrls = new ArrayList<>();
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        photoUrls.add(parser.getText());
+                    }
+                    pet.setPhotoUrls(photoUrls);
+                    break;
+                case "tags":
+                    List<Tag> tags = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        Tag tag = new Tag();
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String tagField = parser.getCurrentName();
+                            parser.nextToken();
+                            if (tagField.equals("id")) {
+                                tag.setId(parser.getLongValue());
+                            } else if (tagField.equals("name")) {
+                                tag.setName(parser.getText());
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                        tags.add(tag);
+                    }
+                    pet.setTags(tags);
+                    break;
+                default:
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    }
+            }
+        }
+        return pet;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.petstore.benchmark;
+
+import com.example.petstore.dto.Pet;
+import com.example.petstore.json.ByteBufferPool;
+import com.example.petstore.json.PetJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation profile of {@link PetJsonWriter}. Run with {@code -prof gc}:
+ * {@code pooledBuffer} should report close to 0 B/op in the steady state, and
+ * {@code requestBody} only the exact-size array handed to RestAssured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PetJsonWriterBenchmark {
+
+    @Param({"5", "100", "1000", "10000"})
+    public int nameLength;
+
+    private final ByteBufferPool pool = new ByteBufferPool(1024, 1 << 20);
+    private Pet pet;
+
+    @Setup
+    public void setUp() {
+        pet = PetPayloads.pet(nameLength);
+    }
+
+    @Benchmark
+    public int pooledBuffer() {
+        ByteBuffer buffer = PetJsonWriter.write(pet, pool);
+        int length = buffer.remaining();
+        pool.release(buffer);
+        return length;
+    }
+
+    @Benchmark
+    public byte[] requestBody() {
+        ByteBuffer buffer = PetJsonWriter.write(pet, pool);
+        try {
+            return Arrays.copyOfRange(buffer.array(), buffer.position(), buffer.limit());
+        } finally {
+            pool.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.petstore.benchmark;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+
+import java.util.List;
+
+/**
+ * Pet fixtures shaped like the ones the API tests send.
+ */
+final class PetPayloads {
+
+    private PetPayloads() {
+    }
+
+    /**
+     * The "Miffy" pet from {@code CreatePetTest.createPet()}, with the name padded to
+     * {@code nameLength} characters. The "Add New Pet with Large Payload" scenario uses 10,000.
+     */
+    static Pet pet(int nameLength) {
+        String name = nameLength <= "Miffy".length() ? "Miffy" : "A".repeat(nameLength);
+
+        Pet pet = new Pet();
+        pet.setId(1L);
+        pet.setCategory(new Category(1L, "Rabbit"));
+        pet.setName(name);
+        pet.setPhotoUrls(List.of());
+        pet.setTags(List.of(new Tag("Mammal", 1L)));
+        pet.setStatus("available");
+        return pet;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.petstore.benchmark;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a {@link Pet} into a request body. The Gson path is what RestAssured
+ * uses today for {@code .body(pet)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PetSerializationBenchmark {
+
+    @Param({"5", "100", "1000", "10000"})
+    public int nameLength;
+
+    private final Gson gson = new Gson();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private Pet pet;
+
+    @Setup
+    public void setUp() {
+        pet = PetPayloads.pet(nameLength);
+    }
+
+    @Benchmark
+    public byte[] gson() {
+        return gson.toJson(pet).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] jacksonDatabind() throws IOException {
+        return objectMapper.writeValueAsBytes(pet);
+    }
+
+    @Benchmark
+    public byte[] jacksonStreaming() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + pet.getName().length());
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            Category category = pet.getCategory();
+            generator.writeObjectFieldStart("category");
+            generator.writeNumberField("id", category.getId());
+            generator.writeStringField("name", category.getName());
+            generator.writeEndObject();
+            generator.writeNumberField("id", pet.getId());
+            generator.writeStringField("name", pet.getName());
+            generator.writeArrayFieldStart("photoUrls");
+            for (String photoUrl : pet.getPhotoUrls()) {
+                generator.writeString(photoUrl);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("status", pet.getStatus());
+            generator.writeArrayFieldStart("tags");
+            for (Tag tag : pet.getTags()) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", tag.getId());
+                generator.writeStringField("name", tag.getName());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] handWritten() {
+        return HandWrittenPetWriter.toJson(pet);
+    }
+}
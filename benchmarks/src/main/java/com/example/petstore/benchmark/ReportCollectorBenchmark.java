@@ -0,0 +1,120 @@
+package com.example.petstore.benchmark;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ExtentReportNode;
+import utils.ReportEventCollector;
+import utils.ReportNode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report log throughput with 1, 8 and 64 threads calling {@code ReportNode.info}.
+ * {@code locked} is the default report mode, where every call synchronizes on the
+ * shared {@link ExtentReports}; {@code collector} appends to per-thread buffers drained
+ * by {@link ReportEventCollector}. Once the collector's consumer thread is saturated,
+ * producers wait for it, so the score is the end-to-end rate and not just the cost of
+ * enqueueing.
+ * <p>
+ * Every iteration starts a fresh report so the Extent model from the previous one can be
+ * collected.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ReportCollectorBenchmark {
+
+    @Param({"locked", "collector"})
+    public String frontEnd;
+
+    private ExtentReports extent;
+    private ReportEventCollector collector;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        extent = new ExtentReports();
+        if ("collector".equals(frontEnd)) {
+            collector = new ReportEventCollector(extent, 1024);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (collector != null) {
+            collector.close();
+            collector = null;
+        }
+    }
+
+    ReportNode createTest(String name) {
+        if (collector != null) {
+            return collector.createTest(name);
+        }
+        synchronized (extent) {
+            ExtentTest test = extent.createTest(name);
+            return new ExtentReportNode(name, test, extent);
+        }
+    }
+
+    /**
+     * Starts a new node every {@value #LOGS_PER_NODE} log lines, roughly what a
+     * functional test writes. Extent recomputes a node's status over all of its logs on
+     * every call, so a single ever-growing node would measure that instead.
+     */
+    @State(Scope.Thread)
+    public static class ThreadNode {
+        private static final int LOGS_PER_NODE = 8;
+
+        private ReportCollectorBenchmark benchmark;
+        private ReportNode node;
+        private int logs;
+
+        @Setup(Level.Iteration)
+        public void setUp(ReportCollectorBenchmark benchmark) {
+            this.benchmark = benchmark;
+            logs = 0;
+        }
+
+        ReportNode next() {
+            if (logs++ % LOGS_PER_NODE == 0) {
+                node = benchmark.createTest(Thread.currentThread().getName());
+            }
+            return node;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ReportNode threads1(ThreadNode state) {
+        return state.next().info("Response status code: 200");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ReportNode threads8(ThreadNode state) {
+        return state.next().info("Response status code: 200");
+    }
+
+    @Benchmark
+    @Threads(64)
+    public ReportNode threads64(ThreadNode state) {
+        return state.next().info("Response status code: 200");
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.petstore.cache;
+
+/**
+ * Point-in-time counters of a {@link TinyLfuCache}.
+ *
+ * @param evictions entries dropped to stay within the weight bound, including
+ *                  candidates the admission policy rejected
+ * @param expirations entries found past their time to live
+ * @param invalidations entries removed through {@link TinyLfuCache#invalidate(Object)}
+ */
+public record CacheStats(long hits, long misses, long evictions, long expirations, long invalidations,
+                         int size, long weight) {
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, hit rate=%.1f%%, evictions=%d, expirations=%d, invalidations=%d, "
+                        + "entries=%d, weight=%d",
+                hits, misses, hitRate() * 100, evictions, expirations, invalidations, size, weight);
+    }
+}
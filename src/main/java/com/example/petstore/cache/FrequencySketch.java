@@ -0,0 +1,68 @@
+package com.example.petstore.cache;
+
+/**
+ * Count-Min sketch of how often keys were seen recently, the "TinyLFU" part of
+ * {@link TinyLfuCache}. Four rows of saturating counters capped at 15; the estimate is
+ * the minimum over the rows. After every {@code 10 * width} increments all counters are
+ * halved, so old popularity fades and the sketch follows shifting workloads.
+ * <p>
+ * Not thread-safe; the cache only touches it under its lock.
+ */
+final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {
+            0x97CB3127L, 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL
+    };
+
+    private final byte[][] rows;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(16, expectedEntries) - 1) << 1;
+        rows = new byte[DEPTH][width];
+        mask = width - 1;
+        sampleSize = 10 * width;
+    }
+
+    int frequency(Object key) {
+        int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, rows[row][index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = key.hashCode();
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            if (rows[row][index] < MAX_COUNT) {
+                rows[row][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            age();
+        }
+    }
+
+    private void age() {
+        for (byte[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int index(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h ^= h >>> 32;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.petstore.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded, weight-aware cache with W-TinyLFU admission and a per-entry time to live.
+ * <p>
+ * New entries land in a small LRU window (1% of the weight budget). Entries leaving the
+ * window are candidates for the main space, a segmented LRU of probation and protected
+ * (80% of the main space) entries. A candidate only gets in if the
+ * {@link FrequencySketch} says it has been asked for more often than the probation
+ * victim it would replace. A burst of one-off keys therefore cannot flush popular
+ * entries. Entries hit while on probation are promoted to protected.
+ * <p>
+ * Expired entries are dropped when they are read or reach the front of their region.
+ * All operations take one lock, which is cheap next to the HTTP calls it saves.
+ * <p>
+ * A value loaded while the key is written elsewhere may already be stale when it is
+ * put. Callers that load outside the lock take the key's {@link #generation} first and
+ * store with {@link #putIfUnchanged}, which drops the value if the key was invalidated
+ * in between. Generations are kept per stripe of keys rather than per key, so an
+ * invalidation can also drop an unrelated put, but nothing is stored for absent keys.
+ */
+public final class TinyLfuCache<K, V> {
+    private enum Region { WINDOW, PROBATION, PROTECTED }
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private final FrequencySketch sketch;
+    private final ToIntFunction<? super V> weigher;
+    private final LongSupplier ticker;
+    private final long ttlNanos;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+
+    private final Deque<K, V> window = new Deque<>();
+    private final Deque<K, V> probation = new Deque<>();
+    private final Deque<K, V> protectedRegion = new Deque<>();
+    private long windowWeight;
+    private long mainWeight;
+    private long protectedWeight;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    private TinyLfuCache(Builder<K, V> builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.ticker = builder.ticker;
+        this.ttlNanos = builder.timeToLive.toNanos();
+        this.sketch = new FrequencySketch(builder.expectedEntries);
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (maximumWeight - windowMaximum) * 8 / 10;
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return the cached value, or {@code null} when absent or expired
+     */
+    public synchronized V get(K key) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(node, ticker.getAsLong())) {
+            remove(node);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Caches {@code value}, replacing any previous value and restarting its time to
+     * live. Values heavier than the whole cache are not stored.
+     */
+    public synchronized void put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        int weight = weigher.applyAsInt(value);
+        long now = ticker.getAsLong();
+        Node<K, V> node = data.get(key);
+        if (weight > maximumWeight) {
+            if (node != null) {
+                remove(node);
+            }
+            return;
+        }
+        if (node != null) {
+            adjustWeight(node, weight - node.weight);
+            node.value = value;
+            node.weight = weight;
+            node.expiresAt = now + ttlNanos;
+            onAccess(node);
+        } else {
+            node = new Node<>(key, value, weight, now + ttlNanos);
+            data.put(key, node);
+            node.region = Region.WINDOW;
+            window.addLast(node);
+            windowWeight += weight;
+        }
+        expireHeads(now);
+        evict();
+    }
+
+    /**
+     * Like {@link #put}, but only if {@code key} has not been invalidated since
+     * {@link #generation} returned {@code generation}.
+     *
+     * @return whether the value was stored
+     */
+    public synchronized boolean putIfUnchanged(K key, V value, long generation) {
+        if (generations[stripe(key)] != generation) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * @return a counter that every invalidation of {@code key} advances
+     */
+    public synchronized long generation(K key) {
+        return generations[stripe(key)];
+    }
+
+    public synchronized void invalidate(K key) {
+        generations[stripe(key)]++;
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            remove(node);
+            invalidations++;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < generations.length; i++) {
+            generations[i]++;
+        }
+        invalidations += data.size();
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedRegion.clear();
+        windowWeight = 0;
+        mainWeight = 0;
+        protectedWeight = 0;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, expirations, invalidations, data.size(), windowWeight + mainWeight);
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.region) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.region = Region.PROTECTED;
+                protectedRegion.addLast(node);
+                protectedWeight += node.weight;
+                while (protectedWeight > protectedMaximum && protectedRegion.first != node) {
+                    Node<K, V> demoted = protectedRegion.removeFirst();
+                    protectedWeight -= demoted.weight;
+                    demoted.region = Region.PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            case PROTECTED:
+                protectedRegion.moveToLast(node);
+                break;
+        }
+    }
+
+    private void evict() {
+        long mainMaximum = maximumWeight - windowMaximum;
+        while (windowWeight > windowMaximum) {
+            Node<K, V> candidate = window.removeFirst();
+            windowWeight -= candidate.weight;
+            admit(candidate, mainMaximum);
+        }
+        while (windowWeight + mainWeight > maximumWeight) {
+            Node<K, V> victim = probation.first != null ? probation.first
+                    : protectedRegion.first != null ? protectedRegion.first : window.first;
+            remove(victim);
+            evictions++;
+        }
+    }
+
+    private void admit(Node<K, V> candidate, long mainMaximum) {
+        int candidateFrequency = sketch.frequency(candidate.key);
+        while (mainWeight + candidate.weight > mainMaximum) {
+            Node<K, V> victim = probation.first != null ? probation.first : protectedRegion.first;
+            if (victim == null || candidateFrequency <= sketch.frequency(victim.key)) {
+                data.remove(candidate.key);
+                evictions++;
+                return;
+            }
+            remove(victim);
+            evictions++;
+        }
+        candidate.region = Region.PROBATION;
+        probation.addLast(candidate);
+        mainWeight += candidate.weight;
+    }
+
+    private void expireHeads(long now) {
+        expireHead(window, now);
+        expireHead(probation, now);
+        expireHead(protectedRegion, now);
+    }
+
+    private void expireHead(Deque<K, V> deque, long now) {
+        while (deque.first != null && isExpired(deque.first, now)) {
+            remove(deque.first);
+            expirations++;
+        }
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return now - node.expiresAt >= 0;
+    }
+
+    private void adjustWeight(Node<K, V> node, int delta) {
+        switch (node.region) {
+            case WINDOW:
+                windowWeight += delta;
+                break;
+            case PROTECTED:
+                protectedWeight += delta;
+                mainWeight += delta;
+                break;
+            case PROBATION:
+                mainWeight += delta;
+                break;
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        data.remove(node.key);
+        switch (node.region) {
+            case WINDOW:
+                window.remove(node);
+                windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                mainWeight -= node.weight;
+                break;
+            case PROTECTED:
+                protectedRegion.remove(node);
+                protectedWeight -= node.weight;
+                mainWeight -= node.weight;
+                break;
+        }
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private int weight;
+        private long expiresAt;
+        private Region region;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(K key, V value, int weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Intrusive doubly-linked list, least recently used first.
+     */
+    private static final class Deque<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        void addLast(Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        Node<K, V> removeFirst() {
+            Node<K, V> node = first;
+            remove(node);
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+        }
+    }
+
+    public static final class Builder<K, V> {
+        private long maximumWeight = 1 << 20;
+        private ToIntFunction<? super V> weigher = value -> 1;
+        private Duration timeToLive = Duration.ofSeconds(30);
+        private int expectedEntries = 1024;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {
+        }
+
+        /**
+         * Upper bound on the summed weight of all entries.
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * Weight of a value, e.g. its size in bytes. Every entry weighs 1 by default.
+         */
+        public Builder<K, V> weigher(ToIntFunction<? super V> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * How long an entry stays valid after it was written.
+         */
+        public Builder<K, V> timeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Rough number of distinct keys in the working set; sizes the frequency sketch.
+         */
+        public Builder<K, V> expectedEntries(int expectedEntries) {
+            this.expectedEntries = expectedEntries;
+            return this;
+        }
+
+        /**
+         * Time source in nanoseconds, for tests.
+         */
+        public Builder<K, V> ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public TinyLfuCache<K, V> build() {
+            return new TinyLfuCache<>(this);
+        }
+    }
+}
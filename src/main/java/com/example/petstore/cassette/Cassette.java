@@ -0,0 +1,167 @@
+package com.example.petstore.cassette;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.petstore.cassette.CassetteFormat.HEADER_SIZE;
+import static com.example.petstore.cassette.CassetteFormat.MAGIC;
+import static com.example.petstore.cassette.CassetteFormat.SLOT_SIZE;
+import static com.example.petstore.cassette.CassetteFormat.TRAILER_SIZE;
+import static com.example.petstore.cassette.CassetteFormat.VERSION;
+
+/**
+ * Replays a cassette recorded by {@link CassetteWriter}. The file is memory-mapped once;
+ * a lookup hashes into the mapped index and returns a view of the recorded body, so it
+ * does not copy the body and does not depend on the size of the cassette.
+ * <p>
+ * Repeated requests get their responses in recording order. Once those run out, the
+ * last recorded response is returned again. The index stores how often each request was
+ * recorded, so that every lookup after a request's first is a single probe, however
+ * often it is replayed. Cassettes are limited to 2 GB, the size of a single mapping.
+ */
+public final class Cassette {
+    private final MappedByteBuffer data;
+    private final int slotCount;
+    private final int records;
+    private final long indexOffset;
+    private final Map<Long, Replay> replayed = new ConcurrentHashMap<>();
+
+    private Cassette(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        if (data.capacity() < HEADER_SIZE) {
+            throw new IOException("Not a pet cassette file");
+        }
+        byte[] magic = new byte[MAGIC.length];
+        data.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a pet cassette file");
+        }
+        if (data.getInt(MAGIC.length) != VERSION) {
+            throw new IOException("Cassette format version " + data.getInt(MAGIC.length) + " is not " + VERSION
+                    + "; record it again");
+        }
+        int trailer = data.capacity() - TRAILER_SIZE;
+        byte[] trailerMagic = new byte[MAGIC.length];
+        if (trailer >= HEADER_SIZE) {
+            data.get(trailer + Long.BYTES + 2 * Integer.BYTES, trailerMagic);
+        }
+        if (!Arrays.equals(trailerMagic, MAGIC)) {
+            throw new IOException("Cassette has no index; the recording was not closed");
+        }
+        indexOffset = data.getLong(trailer);
+        slotCount = data.getInt(trailer + Long.BYTES);
+        records = data.getInt(trailer + Long.BYTES + Integer.BYTES);
+    }
+
+    public static Cassette open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Cassette larger than 2 GB: " + file);
+            }
+            return new Cassette(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Hash that identifies a request in a cassette. {@code pathAndQuery} must not contain
+     * the scheme, host or port, so a cassette recorded against the stub server on a
+     * random port replays against any base URL.
+     */
+    public static long requestHash(String method, String pathAndQuery, byte[] body) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : (method + ' ' + pathAndQuery + '\n').getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        if (body != null) {
+            for (byte b : body) {
+                hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+            }
+        }
+        return CassetteFormat.mix(hash);
+    }
+
+    public int size() {
+        return records;
+    }
+
+    /**
+     * @return the next recorded response for the request, or {@code null} if it was never
+     * recorded
+     */
+    public CassetteEntry next(long requestHash) {
+        Replay replay = replayed.computeIfAbsent(requestHash, this::replay);
+        if (replay.count == 0) {
+            return null;
+        }
+        int occurrence = replay.next.getAndAccumulate(replay.count - 1, (next, last) -> Math.min(next + 1, last));
+        int slot = find(CassetteFormat.key(requestHash, occurrence));
+        return slot < 0 ? null : read((int) data.getLong(slot + Long.BYTES));
+    }
+
+    /**
+     * Starts every request over at its first recorded response.
+     */
+    public void rewind() {
+        replayed.clear();
+    }
+
+    private Replay replay(long requestHash) {
+        int slot = find(CassetteFormat.key(requestHash, 0));
+        return new Replay(slot < 0 ? 0 : data.getInt(slot + 2 * Long.BYTES));
+    }
+
+    /**
+     * @return the position of the index slot holding {@code key}, or -1 if there is none
+     */
+    private int find(long key) {
+        int slot = CassetteFormat.slot(key, slotCount);
+        for (int probes = 0; probes < slotCount; probes++) {
+            int position = (int) indexOffset + slot * SLOT_SIZE;
+            if (data.getLong(position + Long.BYTES) == 0) {
+                return -1;
+            }
+            if (data.getLong(position) == key) {
+                return position;
+            }
+            slot = (slot + 1) & (slotCount - 1);
+        }
+        return -1;
+    }
+
+    private CassetteEntry read(int offset) {
+        int position = offset + Long.BYTES;
+        int statusCode = data.getInt(position);
+        position += Integer.BYTES;
+        int typeLength = data.getShort(position);
+        position += Short.BYTES;
+        String contentType = null;
+        if (typeLength > 0) {
+            byte[] type = new byte[typeLength];
+            data.get(position, type);
+            contentType = new String(type, StandardCharsets.UTF_8);
+        }
+        position += typeLength;
+        int bodyLength = data.getInt(position);
+        position += Integer.BYTES;
+        ByteBuffer body = data.slice(position, bodyLength).asReadOnlyBuffer();
+        return new CassetteEntry(statusCode, contentType, body);
+    }
+
+    private static final class Replay {
+        private final int count;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Replay(int count) {
+            this.count = count;
+        }
+    }
+}
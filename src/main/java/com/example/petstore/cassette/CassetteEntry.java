@@ -0,0 +1,81 @@
+package com.example.petstore.cassette;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A recorded response. {@link #body()} is a read-only view into the mapped cassette,
+ * not a copy.
+ */
+public final class CassetteEntry {
+    private final int statusCode;
+    private final String contentType;
+    private final ByteBuffer body;
+
+    CassetteEntry(int statusCode, String contentType, ByteBuffer body) {
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return the recorded {@code Content-Type}, or {@code null} if there was none
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    public ByteBuffer body() {
+        return body.duplicate();
+    }
+
+    /**
+     * @return a stream that reads {@link #body()} straight from the mapping; bytes are
+     * only copied into the arrays the caller reads into
+     */
+    public InputStream bodyStream() {
+        return new BufferInputStream(body());
+    }
+
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.petstore.cassette;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout shared by {@link CassetteWriter} and {@link Cassette}, all numbers big-endian:
+ * <pre>
+ * header   magic "PETCAS01", version
+ * records  [long key][int status][short contentTypeLength][content type][int bodyLength][body]
+ * index    slotCount slots of [long key][long recordOffset][int requestCount], open addressing,
+ *          offset 0 = empty; requestCount is how often the record's request was recorded
+ * trailer  indexOffset, slotCount, recordCount, magic "PETCAS01"
+ * </pre>
+ * Records are only ever appended; the index and trailer are written once, when the
+ * recording is closed.
+ */
+final class CassetteFormat {
+    static final byte[] MAGIC = "PETCAS01".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = MAGIC.length + Integer.BYTES;
+    static final int SLOT_SIZE = 2 * Long.BYTES + Integer.BYTES;
+    static final int TRAILER_SIZE = Long.BYTES + 2 * Integer.BYTES + MAGIC.length;
+
+    private static final long OCCURRENCE_STEP = 0x9E3779B97F4A7C15L;
+
+    private CassetteFormat() {
+    }
+
+    /**
+     * Key of the {@code occurrence}-th exchange (from 0) with the same request.
+     */
+    static long key(long requestHash, int occurrence) {
+        return mix(requestHash + occurrence * OCCURRENCE_STEP);
+    }
+
+    static int slot(long key, int slotCount) {
+        return (int) (key ^ (key >>> 32)) & (slotCount - 1);
+    }
+
+    static int slotCount(int records) {
+        return Integer.highestOneBit(Math.max(1, records) * 2 - 1) << 1;
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.petstore.cassette;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.example.petstore.cassette.CassetteFormat.HEADER_SIZE;
+import static com.example.petstore.cassette.CassetteFormat.MAGIC;
+import static com.example.petstore.cassette.CassetteFormat.SLOT_SIZE;
+import static com.example.petstore.cassette.CassetteFormat.TRAILER_SIZE;
+import static com.example.petstore.cassette.CassetteFormat.VERSION;
+
+/**
+ * Records exchanges into a new cassette file for {@link Cassette} to replay. Each
+ * response is appended as soon as it is recorded; {@link #close()} writes the lookup
+ * index, and a cassette that was never closed cannot be replayed.
+ * <p>
+ * The same request may be recorded several times, e.g. {@code GET /pet/1} before and
+ * after an update. Replay returns the responses in the order they were recorded.
+ */
+public final class CassetteWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final Map<Long, Integer> occurrences = new HashMap<>();
+    private long[] requestHashes = new long[256];
+    private long[] keys = new long[256];
+    private long[] offsets = new long[256];
+    private int records;
+    private long position;
+    private boolean closed;
+
+    private CassetteWriter(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).putInt(VERSION).flip();
+        writeFully(header);
+    }
+
+    /**
+     * Creates {@code file}, replacing any existing cassette.
+     */
+    public static CassetteWriter create(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new CassetteWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE));
+    }
+
+    /**
+     * @param requestHash {@link Cassette#requestHash(String, String, byte[])} of the request
+     * @param contentType response {@code Content-Type}, or {@code null}
+     */
+    public synchronized void append(long requestHash, int statusCode, String contentType, byte[] body) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Cassette writer is closed");
+        }
+        int occurrence = occurrences.merge(requestHash, 1, Integer::sum) - 1;
+        long key = CassetteFormat.key(requestHash, occurrence);
+        byte[] type = contentType == null ? new byte[0] : contentType.getBytes(StandardCharsets.UTF_8);
+        if (type.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Content type too long: " + contentType);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + Short.BYTES + type.length + Integer.BYTES + body.length);
+        record.putLong(key).putInt(statusCode).putShort((short) type.length).put(type).putInt(body.length).put(body).flip();
+        if (records == keys.length) {
+            requestHashes = Arrays.copyOf(requestHashes, records * 2);
+            keys = Arrays.copyOf(keys, records * 2);
+            offsets = Arrays.copyOf(offsets, records * 2);
+        }
+        requestHashes[records] = requestHash;
+        keys[records] = key;
+        offsets[records] = position;
+        records++;
+        writeFully(record);
+    }
+
+    public synchronized int size() {
+        return records;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            int slotCount = CassetteFormat.slotCount(records);
+            long indexOffset = position;
+            ByteBuffer index = ByteBuffer.allocate(slotCount * SLOT_SIZE);
+            for (int i = 0; i < records; i++) {
+                int slot = CassetteFormat.slot(keys[i], slotCount);
+                while (index.getLong(slot * SLOT_SIZE + Long.BYTES) != 0) {
+                    slot = (slot + 1) & (slotCount - 1);
+                }
+                index.putLong(slot * SLOT_SIZE, keys[i]);
+                index.putLong(slot * SLOT_SIZE + Long.BYTES, offsets[i]);
+                index.putInt(slot * SLOT_SIZE + 2 * Long.BYTES, occurrences.get(requestHashes[i]));
+            }
+            writeFully(index);
+
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            trailer.putLong(indexOffset).putInt(slotCount).putInt(records).put(MAGIC).flip();
+            writeFully(trailer);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.petstore.corpus;
+
+import com.example.petstore.json.PetJsonWriter;
+import com.example.petstore.value.PetValue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Pre-serialized pets in a memory-mapped file, produced by {@link PetGenerator}. The JSON
+ * bodies live in the page cache, not on the heap, so a corpus of ten million pets costs
+ * a few objects per mapped segment. The same seed and count always produce the same
+ * file, byte for byte.
+ * <p>
+ * Layout, all numbers big-endian:
+ * <pre>
+ * header   magic "PETCORP1", version, seed, firstId, count, dataOffset, segmentSize
+ * index    count absolute record offsets, one long each
+ * data     records of [int length][UTF-8 JSON]; no record crosses a segment boundary
+ * </pre>
+ * Records are packed into segments of at most {@code segmentSize} bytes because a single
+ * mapping cannot exceed 2 GB.
+ * <p>
+ * Mapped buffers are only released when they are garbage collected; {@link #close()}
+ * closes the file but earlier slices stay readable until then.
+ */
+public final class PetCorpus implements AutoCloseable {
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private static final byte[] MAGIC = "PETCORP1".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int STAGING_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final long seed;
+    private final long firstId;
+    private final long count;
+    private final long dataOffset;
+    private final int segmentSize;
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] segments;
+
+    private PetCorpus(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || header.getInt() != VERSION) {
+            throw new IOException("Not a pet corpus file");
+        }
+        seed = header.getLong();
+        firstId = header.getLong();
+        count = header.getLong();
+        dataOffset = header.getLong();
+        segmentSize = header.getInt();
+
+        index = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, count * Long.BYTES);
+        long dataLength = channel.size() - dataOffset;
+        segments = new MappedByteBuffer[(int) ((dataLength + segmentSize - 1) / segmentSize)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = dataOffset + (long) i * segmentSize;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentSize, channel.size() - start));
+        }
+    }
+
+    public static PetCorpus open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new PetCorpus(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Generates {@code count} pets into {@code file}, replacing it, and opens the result.
+     */
+    public static PetCorpus create(Path file, PetGenerator generator, long count) throws IOException {
+        write(file, generator, count, DEFAULT_SEGMENT_SIZE);
+        return open(file);
+    }
+
+    static void write(Path file, PetGenerator generator, long count, int segmentSize) throws IOException {
+        if (count < 0 || count > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IllegalArgumentException("count out of range: " + count);
+        }
+        long dataOffset = HEADER_SIZE + count * Long.BYTES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.put(MAGIC).putInt(VERSION).putLong(generator.getSeed()).putLong(generator.getFirstId())
+                    .putLong(count).putLong(dataOffset).putInt(segmentSize);
+            header.clear();
+            channel.write(header, 0);
+
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, count * Long.BYTES);
+            ByteBuffer staging = ByteBuffer.allocateDirect(STAGING_SIZE).order(ByteOrder.BIG_ENDIAN);
+            long stagingStart = dataOffset;
+            long position = dataOffset;
+            for (long i = 0; i < count; i++) {
+                PetValue pet = generator.pet(i);
+                int length = PetJsonWriter.encodedLength(pet);
+                int recordSize = Integer.BYTES + length;
+                if (recordSize > segmentSize) {
+                    throw new IOException("Pet " + i + " needs " + recordSize + " bytes, segments hold " + segmentSize);
+                }
+                long segmentEnd = dataOffset + ((position - dataOffset) / segmentSize + 1) * segmentSize;
+                if (position + recordSize > segmentEnd) {
+                    position = segmentEnd;
+                }
+                if (position != stagingStart + staging.position() || staging.remaining() < recordSize) {
+                    flush(channel, staging, stagingStart);
+                    stagingStart = position;
+                }
+                if (recordSize <= staging.capacity()) {
+                    staging.putInt(length);
+                    PetJsonWriter.write(pet, staging);
+                } else {
+                    ByteBuffer large = ByteBuffer.allocate(recordSize).putInt(length);
+                    PetJsonWriter.write(pet, large);
+                    large.flip();
+                    channel.write(large, position);
+                    stagingStart = position + recordSize;
+                }
+                index.putLong(position);
+                position += recordSize;
+            }
+            flush(channel, staging, stagingStart);
+            index.force();
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer staging, long start) throws IOException {
+        staging.flip();
+        long position = start;
+        while (staging.hasRemaining()) {
+            position += channel.write(staging, position);
+        }
+        staging.clear();
+    }
+
+    public long size() {
+        return count;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return a generator that reproduces this corpus; {@code generator().pet(i)} is the
+     * value serialized at index {@code i}
+     */
+    public PetGenerator generator() {
+        return new PetGenerator(seed, firstId);
+    }
+
+    /**
+     * @return a read-only view of the JSON body of pet {@code i}; no bytes are copied
+     */
+    public ByteBuffer get(long i) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Pet " + i + " of " + count);
+        }
+        long offset = index.getLong((int) (i * Long.BYTES)) - dataOffset;
+        MappedByteBuffer segment = segments[(int) (offset / segmentSize)];
+        int position = (int) (offset % segmentSize);
+        int length = segment.getInt(position);
+        return segment.slice(position + Integer.BYTES, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return a heap copy of the JSON body of pet {@code i}, for clients that only take
+     * arrays
+     */
+    public byte[] bytes(long i) {
+        ByteBuffer body = get(i);
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Writes a corpus file: {@code PetCorpus <file> <count> [seed] [firstId]}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PetCorpus <file> <count> [seed] [firstId]");
+            System.exit(2);
+        }
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        long firstId = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+        long start = System.nanoTime();
+        try (PetCorpus corpus = create(Path.of(args[0]), new PetGenerator(seed, firstId), Long.parseLong(args[1]))) {
+            System.out.printf("Wrote %d pets to %s in %d ms%n", corpus.size(), args[0], (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
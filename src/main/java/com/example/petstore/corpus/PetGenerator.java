@@ -0,0 +1,120 @@
+package com.example.petstore.corpus;
+
+import com.example.petstore.value.CategoryValue;
+import com.example.petstore.value.PetValue;
+import com.example.petstore.value.TagValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeded source of varied pets. {@link #pet(long)} depends only on the seed and the
+ * index, so any pet can be regenerated on its own and the same seed always yields the
+ * same sequence. The random numbers come from a SplitMix64 step implemented here rather
+ * than {@code java.util.Random}, so the output does not change between JDKs.
+ * <p>
+ * Categories and tags are drawn from fixed pools of shared {@link CategoryValue} and
+ * {@link TagValue} instances. Names are built from syllables, about one in twenty
+ * contains non-ASCII characters, and pets carry up to three photo URLs and tags.
+ */
+public final class PetGenerator {
+    private static final String[] STATUSES = {"available", "pending", "sold"};
+    private static final String[] SYLLABLES = {
+            "mi", "ffy", "bo", "la", "ru", "ki", "to", "sna", "wy", "pe",
+            "zu", "ga", "no", "ri", "fe", "lu", "da", "mo", "che", "ta"
+    };
+    private static final String[] NON_ASCII_SUFFIXES = {"é", "ö", "ñ", "ß", "🐾"};
+    private static final List<CategoryValue> CATEGORIES = List.of(
+            CategoryValue.of(1L, "Rabbit"), CategoryValue.of(2L, "Dog"), CategoryValue.of(3L, "Cat"),
+            CategoryValue.of(4L, "Bird"), CategoryValue.of(5L, "Fish"), CategoryValue.of(6L, "Reptile"),
+            CategoryValue.of(7L, "Hamster"), CategoryValue.of(8L, "Horse"));
+    private static final List<TagValue> TAGS = List.of(
+            TagValue.of(1L, "Mammal"), TagValue.of(2L, "Vaccinated"), TagValue.of(3L, "Neutered"),
+            TagValue.of(4L, "Young"), TagValue.of(5L, "Senior"), TagValue.of(6L, "Indoor"),
+            TagValue.of(7L, "Outdoor"), TagValue.of(8L, "Trained"), TagValue.of(9L, "Friendly"),
+            TagValue.of(10L, "Shy"), TagValue.of(11L, "Large"), TagValue.of(12L, "Small"),
+            TagValue.of(13L, "Rescue"), TagValue.of(14L, "Purebred"), TagValue.of(15L, "Hypoallergenic"),
+            TagValue.of(16L, "Special needs"));
+
+    private final long seed;
+    private final long firstId;
+
+    /**
+     * @param firstId id of the pet at index 0; pet {@code i} gets {@code firstId + i}
+     */
+    public PetGenerator(long seed, long firstId) {
+        this.seed = seed;
+        this.firstId = firstId;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getFirstId() {
+        return firstId;
+    }
+
+    public PetValue pet(long index) {
+        long state = seed ^ mix(index + 0x632BE59BD9B4E019L);
+        long id = firstId + index;
+
+        StringBuilder name = new StringBuilder(16);
+        state = next(state);
+        int syllables = 2 + bounded(state, 3);
+        for (int i = 0; i < syllables; i++) {
+            state = next(state);
+            name.append(SYLLABLES[bounded(state, SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        state = next(state);
+        if (bounded(state, 20) == 0) {
+            state = next(state);
+            name.append(NON_ASCII_SUFFIXES[bounded(state, NON_ASCII_SUFFIXES.length)]);
+        }
+
+        state = next(state);
+        CategoryValue category = CATEGORIES.get(bounded(state, CATEGORIES.size()));
+        state = next(state);
+        String status = STATUSES[bounded(state, STATUSES.length)];
+
+        state = next(state);
+        int photoCount = bounded(state, 4);
+        List<String> photoUrls = new ArrayList<>(photoCount);
+        for (int i = 0; i < photoCount; i++) {
+            photoUrls.add("https://images.example.com/pets/" + id + "/" + i + ".jpg");
+        }
+
+        state = next(state);
+        int tagCount = bounded(state, 4);
+        List<TagValue> tags = new ArrayList<>(tagCount);
+        state = next(state);
+        int firstTag = bounded(state, TAGS.size());
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(TAGS.get((firstTag + i * 5) % TAGS.size()));
+        }
+
+        return PetValue.builder()
+                .category(category)
+                .id(id)
+                .name(name.toString())
+                .photoUrls(photoUrls)
+                .status(status)
+                .tags(tags)
+                .build();
+    }
+
+    private static long next(long state) {
+        return mix(state + 0x9E3779B97F4A7C15L);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int bounded(long random, int bound) {
+        return (int) ((random >>> 33) % bound);
+    }
+}
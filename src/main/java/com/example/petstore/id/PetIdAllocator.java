@@ -0,0 +1,100 @@
+package com.example.petstore.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out pet ids from {@code [first, last]} so that no two callers ever get the same
+ * one. Each thread leases a block of {@code blockSize} consecutive ids from a shared
+ * counter with a single {@code getAndAdd}, and then takes ids from its block without
+ * touching shared state. Threads therefore work in disjoint ranges, and the counter is
+ * only contended once per block.
+ * <p>
+ * Ids left in a thread's block when the thread ends are not reused, so the range is
+ * used up somewhat faster than the number of pets created.
+ * <p>
+ * Which ids {@link #next()} returns depends on the order in which threads lease their
+ * blocks. Work that is spread over a pool and has to send the same ids on every run,
+ * such as a run that is replayed from a cassette, leases its ids up front with
+ * {@link #lease(int)} instead.
+ */
+public final class PetIdAllocator {
+    private final long first;
+    private final long last;
+    private final int blockSize;
+    private final AtomicLong nextBlock;
+    private final ThreadLocal<Block> block = ThreadLocal.withInitial(Block::new);
+
+    public PetIdAllocator(long first, long last, int blockSize) {
+        if (first > last) {
+            throw new IllegalArgumentException("Empty id range [" + first + ", " + last + "]");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be at least 1, was " + blockSize);
+        }
+        if (last > Long.MAX_VALUE - blockSize) {
+            throw new IllegalArgumentException("Id range must end below Long.MAX_VALUE - blockSize");
+        }
+        this.first = first;
+        this.last = last;
+        this.blockSize = blockSize;
+        this.nextBlock = new AtomicLong(first);
+    }
+
+    /**
+     * @throws IllegalStateException when every id in the range has been leased
+     */
+    public long next() {
+        Block current = block.get();
+        if (current.next == current.end) {
+            lease(current);
+        }
+        return current.next++;
+    }
+
+    /**
+     * Leases {@code count} consecutive ids directly from the shared counter, bypassing the
+     * calling thread's block. Called from one thread, in the same order on every run, it
+     * returns the same ids each time however the work using them is scheduled.
+     *
+     * @return the first of the leased ids
+     * @throws IllegalStateException when fewer than {@code count} ids are left
+     */
+    public long lease(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1, was " + count);
+        }
+        long start = take(count);
+        if (last - start < count - 1) {
+            throw new IllegalStateException("Pet id range up to " + last + " has fewer than " + count + " ids left");
+        }
+        return start;
+    }
+
+    /**
+     * @return the first id no thread has leased yet
+     */
+    public long leasedUpTo() {
+        return Math.min(nextBlock.get(), last + 1);
+    }
+
+    private void lease(Block current) {
+        long start = take(blockSize);
+        current.next = start;
+        current.end = Math.min(start + blockSize, last + 1);
+    }
+
+    private long take(int count) {
+        long start = nextBlock.getAndAdd(count);
+        // Every call after the range ran out still adds to the counter, so it can
+        // eventually wrap around.
+        if (start > last || start < first) {
+            throw new IllegalStateException("Pet id range up to " + last + " is used up");
+        }
+        return start;
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
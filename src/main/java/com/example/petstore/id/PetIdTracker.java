@@ -0,0 +1,110 @@
+package com.example.petstore.id;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Records which pets with an id in {@code [first, last]} a run has written and not
+ * deleted since, so that the run can delete what is left at the end. Each id is one bit
+ * at {@code id - first}, set on write and cleared on delete, so writing the same pet
+ * again changes nothing and the tracker only grows with the span of ids written, one
+ * page per {@value #PAGE_BITS} ids. Ids outside the range, such as ids the server
+ * assigned, are ignored.
+ */
+public final class PetIdTracker {
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_BITS = 1 << PAGE_SHIFT;
+    private static final int PAGE_WORDS = PAGE_BITS / Long.SIZE;
+    private static final VarHandle WORD = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long first;
+    private final long last;
+    // Replaced by a longer copy under the lock when a page past the end is needed. Pages
+    // are shared between copies, so a bit set through an old copy is not lost.
+    private volatile long[][] pages = new long[0][];
+
+    public PetIdTracker(long first, long last) {
+        if (first > last) {
+            throw new IllegalArgumentException("Empty id range [" + first + ", " + last + "]");
+        }
+        if (last - first < 0 || (last - first) >>> PAGE_SHIFT >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Id range [" + first + ", " + last + "] is too wide to track");
+        }
+        this.first = first;
+        this.last = last;
+    }
+
+    public void created(long id) {
+        if (id < first || id > last) {
+            return;
+        }
+        long bit = id - first;
+        long[] page = page((int) (bit >>> PAGE_SHIFT));
+        int word = (int) (bit >>> 6) & (PAGE_WORDS - 1);
+        long mask = 1L << bit;
+        // Most writes are updates of a pet that is already recorded.
+        if (((long) WORD.getAcquire(page, word) & mask) == 0) {
+            WORD.getAndBitwiseOr(page, word, mask);
+        }
+    }
+
+    public void deleted(long id) {
+        if (id < first || id > last) {
+            return;
+        }
+        long bit = id - first;
+        long[][] current = pages;
+        int index = (int) (bit >>> PAGE_SHIFT);
+        if (index >= current.length || current[index] == null) {
+            return;
+        }
+        WORD.getAndBitwiseAnd(current[index], (int) (bit >>> 6) & (PAGE_WORDS - 1), ~(1L << bit));
+    }
+
+    /**
+     * @return the ids created and not deleted since, sorted. Ids recorded while this
+     * runs may or may not be included.
+     */
+    public long[] live() {
+        long[][] current = pages;
+        long[] live = new long[0];
+        int size = 0;
+        for (int index = 0; index < current.length; index++) {
+            long[] page = current[index];
+            if (page == null) {
+                continue;
+            }
+            long pageFirst = first + ((long) index << PAGE_SHIFT);
+            for (int word = 0; word < PAGE_WORDS; word++) {
+                long bits = (long) WORD.getAcquire(page, word);
+                while (bits != 0) {
+                    if (size == live.length) {
+                        live = Arrays.copyOf(live, Math.max(16, size * 2));
+                    }
+                    live[size++] = pageFirst + (long) word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return Arrays.copyOf(live, size);
+    }
+
+    private long[] page(int index) {
+        long[][] current = pages;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        synchronized (this) {
+            current = pages;
+            if (index >= current.length) {
+                current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+            }
+            if (current[index] == null) {
+                current[index] = new long[PAGE_WORDS];
+            }
+            pages = current;
+            return current[index];
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.petstore.json;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Per-thread pool of heap {@link ByteBuffer}s. Buffers are handed back with
+ * {@link #release(ByteBuffer)} and reused by the next {@link #acquire(int)} on the same
+ * thread, so once every thread has warmed up, acquiring a buffer allocates nothing.
+ */
+public final class ByteBufferPool {
+    private static final int MAX_BUFFERS_PER_THREAD = 4;
+
+    private final int initialCapacity;
+    private final int maxPooledCapacity;
+    private final ThreadLocal<ArrayDeque<ByteBuffer>> buffers = ThreadLocal.withInitial(() -> new ArrayDeque<>(MAX_BUFFERS_PER_THREAD));
+
+    /**
+     * @param initialCapacity   smallest buffer the pool allocates
+     * @param maxPooledCapacity buffers larger than this are left to the garbage collector
+     *                          on release, so one huge payload does not pin memory
+     */
+    public ByteBufferPool(int initialCapacity, int maxPooledCapacity) {
+        this.initialCapacity = initialCapacity;
+        this.maxPooledCapacity = maxPooledCapacity;
+    }
+
+    /**
+     * Returns a cleared buffer with at least {@code minCapacity} bytes of room.
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        ArrayDeque<ByteBuffer> pooled = buffers.get();
+        ByteBuffer buffer = pooled.pollFirst();
+        if (buffer == null || buffer.capacity() < minCapacity) {
+            buffer = ByteBuffer.allocate(capacityFor(minCapacity));
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    public void release(ByteBuffer buffer) {
+        ArrayDeque<ByteBuffer> pooled = buffers.get();
+        if (buffer.capacity() <= maxPooledCapacity && pooled.size() < MAX_BUFFERS_PER_THREAD) {
+            pooled.addFirst(buffer);
+        }
+    }
+
+    private int capacityFor(int minCapacity) {
+        int capacity = Math.max(initialCapacity, minCapacity);
+        int rounded = Integer.highestOneBit(capacity);
+        return rounded == capacity || rounded >= (1 << 30) ? capacity : rounded << 1;
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.petstore.json;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+import com.example.petstore.value.CategoryValue;
+import com.example.petstore.value.PetValue;
+import com.example.petstore.value.TagValue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes {@link Pet}, {@link Category} and {@link Tag} as UTF-8 JSON straight into a
+ * {@link ByteBuffer}, without reflection or intermediate Strings.
+ * <p>
+ * Field order and null handling match Gson, which RestAssured uses for {@code .body(pet)}:
+ * fields in declaration order, {@code null} fields omitted. {@link #encodedLength(Pet)}
+ * sizes the output exactly, so a pooled buffer can be picked before writing.
+ * <p>
+ * {@link PetValue} gets the same treatment, so generators can serialize shared
+ * immutable values without converting them to beans first.
+ */
+public final class PetJsonWriter {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] CATEGORY = field("category");
+    private static final byte[] ID = field("id");
+    private static final byte[] NAME = field("name");
+    private static final byte[] PHOTO_URLS = field("photoUrls");
+    private static final byte[] STATUS = field("status");
+    private static final byte[] TAGS = field("tags");
+
+    private PetJsonWriter() {
+    }
+
+    public static int encodedLength(Pet pet) {
+        return encodedLength(pet.getCategory(), pet.getId(), pet.getName(), pet.getPhotoUrls(), pet.getStatus(), pet.getTags());
+    }
+
+    /**
+     * Writes {@code pet} at the buffer's position. The buffer must have at least
+     * {@link #encodedLength(Pet)} bytes remaining.
+     */
+    public static void write(Pet pet, ByteBuffer out) {
+        write(out, pet.getCategory(), pet.getId(), pet.getName(), pet.getPhotoUrls(), pet.getStatus(), pet.getTags());
+    }
+
+    /**
+     * Serializes {@code pet} into a buffer from {@code pool}. The returned buffer is
+     * flipped for reading; hand it back to the pool once the bytes have been consumed.
+     */
+    public static ByteBuffer write(Pet pet, ByteBufferPool pool) {
+        ByteBuffer buffer = pool.acquire(encodedLength(pet));
+        write(pet, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    public static int encodedLength(PetValue pet) {
+        return encodedLength(pet.category(), pet.id(), pet.name(), pet.photoUrls(), pet.status(), pet.tags());
+    }
+
+    /**
+     * Writes {@code pet} at the buffer's position. The buffer must have at least
+     * {@link #encodedLength(PetValue)} bytes remaining.
+     */
+    public static void write(PetValue pet, ByteBuffer out) {
+        write(out, pet.category(), pet.id(), pet.name(), pet.photoUrls(), pet.status(), pet.tags());
+    }
+
+    public static ByteBuffer write(PetValue pet, ByteBufferPool pool) {
+        ByteBuffer buffer = pool.acquire(encodedLength(pet));
+        write(pet, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * The one definition of the pet format, for beans and values alike. {@code category}
+     * and the elements of {@code tags} are {@link Category}/{@link Tag} beans or their
+     * value counterparts, read through {@link #idOf(Object)} and {@link #nameOf(Object)}.
+     */
+    private static int encodedLength(Object category, Long id, String name, List<String> photoUrls, String status, List<?> tags) {
+        int length = 2;
+        int fields = 0;
+        if (category != null) {
+            length += CATEGORY.length + encodedLength(idOf(category), nameOf(category));
+            fields++;
+        }
+        if (id != null) {
+            length += ID.length + longLength(id);
+            fields++;
+        }
+        if (name != null) {
+            length += NAME.length + stringLength(name);
+            fields++;
+        }
+        if (photoUrls != null) {
+            length += PHOTO_URLS.length + 2 + Math.max(0, photoUrls.size() - 1);
+            for (int i = 0; i < photoUrls.size(); i++) {
+                length += stringLength(photoUrls.get(i));
+            }
+            fields++;
+        }
+        if (status != null) {
+            length += STATUS.length + stringLength(status);
+            fields++;
+        }
+        if (tags != null) {
+            length += TAGS.length + 2 + Math.max(0, tags.size() - 1);
+            for (int i = 0; i < tags.size(); i++) {
+                Object tag = tags.get(i);
+                length += tag == null ? 4 : encodedLength(idOf(tag), nameOf(tag));
+            }
+            fields++;
+        }
+        return length + Math.max(0, fields - 1);
+    }
+
+    private static void write(ByteBuffer out, Object category, Long id, String name, List<String> photoUrls, String status, List<?> tags) {
+        out.put((byte) '{');
+        boolean first = true;
+        if (category != null) {
+            out.put(CATEGORY);
+            writeIdAndName(out, idOf(category), nameOf(category));
+            first = false;
+        }
+        if (id != null) {
+            first = comma(out, first);
+            out.put(ID);
+            writeLong(out, id);
+        }
+        if (name != null) {
+            first = comma(out, first);
+            out.put(NAME);
+            writeString(out, name);
+        }
+        if (photoUrls != null) {
+            first = comma(out, first);
+            out.put(PHOTO_URLS).put((byte) '[');
+            for (int i = 0; i < photoUrls.size(); i++) {
+                if (i > 0) {
+                    out.put((byte) ',');
+                }
+                writeString(out, photoUrls.get(i));
+            }
+            out.put((byte) ']');
+        }
+        if (status != null) {
+            first = comma(out, first);
+            out.put(STATUS);
+            writeString(out, status);
+        }
+        if (tags != null) {
+            comma(out, first);
+            out.put(TAGS).put((byte) '[');
+            for (int i = 0; i < tags.size(); i++) {
+                if (i > 0) {
+                    out.put((byte) ',');
+                }
+                Object tag = tags.get(i);
+                if (tag == null) {
+                    writeNull(out);
+                } else {
+                    writeIdAndName(out, idOf(tag), nameOf(tag));
+                }
+            }
+            out.put((byte) ']');
+        }
+        out.put((byte) '}');
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity instanceof Category category) {
+            return category.getId();
+        }
+        if (entity instanceof Tag tag) {
+            return tag.getId();
+        }
+        if (entity instanceof CategoryValue category) {
+            return category.id();
+        }
+        return ((TagValue) entity).id();
+    }
+
+    private static String nameOf(Object entity) {
+        if (entity instanceof Category category) {
+            return category.getName();
+        }
+        if (entity instanceof Tag tag) {
+            return tag.getName();
+        }
+        if (entity instanceof CategoryValue category) {
+            return category.name();
+        }
+        return ((TagValue) entity).name();
+    }
+
+    private static int encodedLength(Long id, String name) {
+        int length = 2;
+        if (id != null) {
+            length += ID.length + longLength(id);
+        }
+        if (name != null) {
+            length += NAME.length + stringLength(name) + (id != null ? 1 : 0);
+        }
+        return length;
+    }
+
+    private static void writeIdAndName(ByteBuffer out, Long id, String name) {
+        out.put((byte) '{');
+        if (id != null) {
+            out.put(ID);
+            writeLong(out, id);
+        }
+        if (name != null) {
+            if (id != null) {
+                out.put((byte) ',');
+            }
+            out.put(NAME);
+            writeString(out, name);
+        }
+        out.put((byte) '}');
+    }
+
+    private static boolean comma(ByteBuffer out, boolean first) {
+        if (!first) {
+            out.put((byte) ',');
+        }
+        return false;
+    }
+
+    private static void writeNull(ByteBuffer out) {
+        out.put((byte) 'n').put((byte) 'u').put((byte) 'l').put((byte) 'l');
+    }
+
+    private static int longLength(long value) {
+        if (value == Long.MIN_VALUE) {
+            return MIN_LONG.length;
+        }
+        int length = value < 0 ? 2 : 1;
+        long remaining = Math.abs(value);
+        while (remaining >= 10) {
+            remaining /= 10;
+            length++;
+        }
+        return length;
+    }
+
+    private static void writeLong(ByteBuffer out, long value) {
+        if (value == Long.MIN_VALUE) {
+            out.put(MIN_LONG);
+            return;
+        }
+        if (value < 0) {
+            out.put((byte) '-');
+            value = -value;
+        }
+        int end = out.position() + longLength(value);
+        int index = end;
+        do {
+            out.put(--index, (byte) ('0' + value % 10));
+            value /= 10;
+        } while (value != 0);
+        out.position(end);
+    }
+
+    private static int stringLength(String value) {
+        if (value == null) {
+            return 4;
+        }
+        int length = 2;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+        out.put((byte) '"');
+        int i = out.hasArray() ? writeAsciiRun(out, value) : 0;
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.put((byte) '\\').put((byte) '"');
+                    break;
+                case '\\':
+                    out.put((byte) '\\').put((byte) '\\');
+                    break;
+                case '\n':
+                    out.put((byte) '\\').put((byte) 'n');
+                    break;
+                case '\r':
+                    out.put((byte) '\\').put((byte) 'r');
+                    break;
+                case '\t':
+                    out.put((byte) '\\').put((byte) 't');
+                    break;
+                case '\b':
+                    out.put((byte) '\\').put((byte) 'b');
+                    break;
+                case '\f':
+                    out.put((byte) '\\').put((byte) 'f');
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                                .put(HEX[c >> 4]).put(HEX[c & 0xf]);
+                    } else if (c < 0x80) {
+                        out.put((byte) c);
+                    } else if (c < 0x800) {
+                        out.put((byte) (0xc0 | (c >> 6)))
+                                .put((byte) (0x80 | (c & 0x3f)));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                        out.put((byte) (0xf0 | (codePoint >> 18)))
+                                .put((byte) (0x80 | ((codePoint >> 12) & 0x3f)))
+                                .put((byte) (0x80 | ((codePoint >> 6) & 0x3f)))
+                                .put((byte) (0x80 | (codePoint & 0x3f)));
+                    } else if (Character.isSurrogate(c)) {
+                        out.put((byte) '?');
+                    } else {
+                        out.put((byte) (0xe0 | (c >> 12)))
+                                .put((byte) (0x80 | ((c >> 6) & 0x3f)))
+                                .put((byte) (0x80 | (c & 0x3f)));
+                    }
+            }
+        }
+        out.put((byte) '"');
+    }
+
+    /**
+     * Copies the leading run of characters that need no escaping straight into the
+     * backing array, which covers most names and statuses in one tight loop.
+     *
+     * @return index of the first character that was not written
+     */
+    private static int writeAsciiRun(ByteBuffer out, String value) {
+        byte[] array = out.array();
+        int offset = out.arrayOffset() + out.position();
+        int i = 0;
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c >= 0x80 || c == '"' || c == '\\') {
+                break;
+            }
+            array[offset + i] = (byte) c;
+        }
+        out.position(out.position() + i);
+        return i;
+    }
+
+    private static byte[] field(String name) {
+        return ("\"" + name + "\":").getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.petstore.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client metrics per method and route template, rendered in the Prometheus text
+ * exposition format (version 0.0.4):
+ * <ul>
+ *     <li>{@code petstore_http_requests_total{method,route,status}} counts responses.</li>
+ *     <li>{@code petstore_http_request_errors_total{method,route}} counts requests that
+ *     failed without a response.</li>
+ *     <li>{@code petstore_http_request_duration_seconds{method,route}} is a histogram
+ *     of the time to a complete response.</li>
+ * </ul>
+ * Routes should be templates such as {@code /pet/{petId}}, not concrete paths, or every
+ * pet id becomes a series of its own.
+ */
+public final class MetricsRegistry {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] DEFAULT_BUCKETS_SECONDS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final Map<String, RequestMetrics> series = new ConcurrentHashMap<>();
+    private final double[] bucketsSeconds;
+    private final long[] bucketBoundsNanos;
+
+    public MetricsRegistry() {
+        this(DEFAULT_BUCKETS_SECONDS);
+    }
+
+    /**
+     * @param bucketsSeconds ascending upper bounds of the latency histogram buckets;
+     *                       {@code +Inf} is always added
+     */
+    public MetricsRegistry(double... bucketsSeconds) {
+        this.bucketsSeconds = bucketsSeconds.clone();
+        this.bucketBoundsNanos = new long[bucketsSeconds.length];
+        for (int i = 0; i < bucketsSeconds.length; i++) {
+            if (i > 0 && bucketsSeconds[i] <= bucketsSeconds[i - 1]) {
+                throw new IllegalArgumentException("Buckets must be ascending: " + Arrays.toString(bucketsSeconds));
+            }
+            bucketBoundsNanos[i] = (long) (bucketsSeconds[i] * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    public void recordResponse(String method, String route, int statusCode, long nanos) {
+        metrics(method, route).recordResponse(statusCode, nanos);
+    }
+
+    public void recordError(String method, String route, long nanos) {
+        metrics(method, route).recordError(nanos);
+    }
+
+    public void clear() {
+        series.clear();
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    public void writeTo(Appendable out) throws IOException {
+        List<RequestMetrics> all = new ArrayList<>(series.values());
+        all.sort(Comparator.comparing(RequestMetrics::route).thenComparing(RequestMetrics::method));
+
+        out.append("# HELP petstore_http_requests_total Responses received, by status code.\n");
+        out.append("# TYPE petstore_http_requests_total counter\n");
+        for (RequestMetrics metrics : all) {
+            Map<Integer, Long> statuses = new TreeMap<>();
+            metrics.statusCounts().forEach((status, count) -> statuses.put(status, count.sum()));
+            for (Map.Entry<Integer, Long> status : statuses.entrySet()) {
+                out.append("petstore_http_requests_total{").append(labels(metrics))
+                        .append(",status=\"").append(String.valueOf(status.getKey())).append("\"} ")
+                        .append(String.valueOf(status.getValue())).append('\n');
+            }
+        }
+
+        out.append("# HELP petstore_http_request_errors_total Requests that failed without a response.\n");
+        out.append("# TYPE petstore_http_request_errors_total counter\n");
+        for (RequestMetrics metrics : all) {
+            out.append("petstore_http_request_errors_total{").append(labels(metrics)).append("} ")
+                    .append(String.valueOf(metrics.errors())).append('\n');
+        }
+
+        out.append("# HELP petstore_http_request_duration_seconds Time until the complete response was received.\n");
+        out.append("# TYPE petstore_http_request_duration_seconds histogram\n");
+        for (RequestMetrics metrics : all) {
+            // Read the total first: buckets only grow, so "+Inf" never ends up below them.
+            long count = metrics.count();
+            long cumulative = 0;
+            for (int i = 0; i < bucketsSeconds.length; i++) {
+                cumulative += metrics.bucketCount(i);
+                out.append("petstore_http_request_duration_seconds_bucket{").append(labels(metrics))
+                        .append(",le=\"").append(String.valueOf(bucketsSeconds[i])).append("\"} ")
+                        .append(String.valueOf(Math.min(cumulative, count))).append('\n');
+            }
+            out.append("petstore_http_request_duration_seconds_bucket{").append(labels(metrics))
+                    .append(",le=\"+Inf\"} ").append(String.valueOf(count)).append('\n');
+            out.append("petstore_http_request_duration_seconds_sum{").append(labels(metrics)).append("} ")
+                    .append(String.valueOf(metrics.sumNanos() / 1e9)).append('\n');
+            out.append("petstore_http_request_duration_seconds_count{").append(labels(metrics)).append("} ")
+                    .append(String.valueOf(count)).append('\n');
+        }
+    }
+
+    /**
+     * Writes a scrape to {@code file}, replacing it atomically so that a collector
+     * reading it (e.g. the node exporter's textfile collector) never sees half a file.
+     */
+    public void writeTo(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            writeTo(writer);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private RequestMetrics metrics(String method, String route) {
+        return series.computeIfAbsent(method + ' ' + route, key -> new RequestMetrics(method, route, bucketBoundsNanos));
+    }
+
+    private static String labels(RequestMetrics metrics) {
+        return "method=\"" + escape(metrics.method()) + "\",route=\"" + escape(metrics.route()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.petstore.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram for one method and route. Every update is a
+ * {@link LongAdder} increment, so concurrent requests never wait on each other.
+ */
+final class RequestMetrics {
+    private final String method;
+    private final String route;
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder[] bucketCounts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final long[] bucketBoundsNanos;
+
+    RequestMetrics(String method, String route, long[] bucketBoundsNanos) {
+        this.method = method;
+        this.route = route;
+        this.bucketBoundsNanos = bucketBoundsNanos;
+        this.bucketCounts = new LongAdder[bucketBoundsNanos.length];
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    String method() {
+        return method;
+    }
+
+    String route() {
+        return route;
+    }
+
+    void recordResponse(int statusCode, long nanos) {
+        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        recordLatency(nanos);
+    }
+
+    void recordError(long nanos) {
+        errors.increment();
+        recordLatency(nanos);
+    }
+
+    Map<Integer, LongAdder> statusCounts() {
+        return statusCounts;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long sumNanos() {
+        return sumNanos.sum();
+    }
+
+    /**
+     * Observations at or below {@code bucketBoundsNanos[index]}, not cumulative.
+     */
+    long bucketCount(int index) {
+        return bucketCounts[index].sum();
+    }
+
+    private void recordLatency(long nanos) {
+        int bucket = 0;
+        while (bucket < bucketBoundsNanos.length && nanos > bucketBoundsNanos[bucket]) {
+            bucket++;
+        }
+        if (bucket < bucketCounts.length) {
+            bucketCounts[bucket].increment();
+        }
+        sumNanos.add(nanos);
+        count.increment();
+    }
+}
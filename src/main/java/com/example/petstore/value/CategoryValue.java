@@ -0,0 +1,24 @@
+package com.example.petstore.value;
+
+import com.example.petstore.dto.Category;
+
+/**
+ * Immutable counterpart of {@link Category}. {@link #of(Long, String)} hands out shared
+ * instances, so generators that reuse a handful of categories across millions of pets
+ * allocate each of them about once.
+ */
+public record CategoryValue(Long id, String name) {
+    private static final Flyweights<CategoryValue> FLYWEIGHTS = new Flyweights<>(CategoryValue::new, CategoryValue::id, CategoryValue::name);
+
+    public static CategoryValue of(Long id, String name) {
+        return FLYWEIGHTS.of(id, name);
+    }
+
+    public static CategoryValue from(Category category) {
+        return category == null ? null : of(category.getId(), category.getName());
+    }
+
+    public Category toCategory() {
+        return new Category(id, name);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.petstore.value;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Shared instances of {@link CategoryValue} and {@link TagValue}, held in a small
+ * direct-mapped array probed by the id and name themselves. Looking up a value that was
+ * handed out recently allocates nothing. A miss builds a new value, which replaces the
+ * one in its slot. The few values a generator reuses stay shared, while a run of
+ * distinct values holds on to at most {@value #SLOTS} of them. The values are records,
+ * so a rebuilt one is equal to the one it replaced.
+ */
+final class Flyweights<T> {
+    private static final int SLOTS = 256;
+
+    private final BiFunction<Long, String, T> factory;
+    private final Function<T, Long> id;
+    private final Function<T, String> name;
+    // Read and written without synchronization: the values are records with final
+    // fields, and a slot that is stale or overwritten only costs a trip to the map.
+    private final Object[] recent = new Object[SLOTS];
+
+    Flyweights(BiFunction<Long, String, T> factory, Function<T, Long> id, Function<T, String> name) {
+        this.factory = factory;
+        this.id = id;
+        this.name = name;
+    }
+
+    @SuppressWarnings("unchecked")
+    T of(Long id, String name) {
+        int hash = 31 * Objects.hashCode(id) + Objects.hashCode(name);
+        int slot = (hash ^ (hash >>> 16)) & (SLOTS - 1);
+        T recent = (T) this.recent[slot];
+        if (recent != null && Objects.equals(this.id.apply(recent), id) && Objects.equals(this.name.apply(recent), name)) {
+            return recent;
+        }
+        T value = factory.apply(id, name);
+        this.recent[slot] = value;
+        return value;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.petstore.value;
+
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable counterpart of {@link Pet}. Lists are copied on construction and cannot be
+ * modified; like the bean, they may contain {@code null} elements, which negative tests
+ * rely on. Build one with {@link #builder()}, and convert to and from the bean with
+ * {@link #toPet()} and {@link #from(Pet)}.
+ */
+public record PetValue(CategoryValue category, Long id, String name, List<String> photoUrls, String status, List<TagValue> tags) {
+
+    public PetValue {
+        photoUrls = copy(photoUrls);
+        tags = copy(tags);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static PetValue from(Pet pet) {
+        if (pet == null) {
+            return null;
+        }
+        List<TagValue> tags = null;
+        if (pet.getTags() != null) {
+            tags = new ArrayList<>(pet.getTags().size());
+            for (Tag tag : pet.getTags()) {
+                tags.add(TagValue.from(tag));
+            }
+        }
+        return new PetValue(CategoryValue.from(pet.getCategory()), pet.getId(), pet.getName(),
+                pet.getPhotoUrls(), pet.getStatus(), tags);
+    }
+
+    /**
+     * @return a new mutable bean; changing it does not affect this value or the shared
+     * category and tag instances
+     */
+    public Pet toPet() {
+        List<Tag> beanTags = null;
+        if (tags != null) {
+            beanTags = new ArrayList<>(tags.size());
+            for (TagValue tag : tags) {
+                beanTags.add(tag == null ? null : tag.toTag());
+            }
+        }
+        return new Pet(category == null ? null : category.toCategory(), id, name,
+                photoUrls == null ? null : new ArrayList<>(photoUrls), status, beanTags);
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .category(category)
+                .id(id)
+                .name(name)
+                .photoUrls(photoUrls)
+                .status(status)
+                .tags(tags);
+    }
+
+    /**
+     * {@link List#copyOf} returns lists built with {@code List.of} as they are, so pets
+     * sharing one tag list do not copy it per pet. It rejects nulls, hence the fallback.
+     */
+    private static <T> List<T> copy(List<T> list) {
+        if (list == null) {
+            return null;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == null) {
+                return Collections.unmodifiableList(new ArrayList<>(list));
+            }
+        }
+        return List.copyOf(list);
+    }
+
+    public static final class Builder {
+        private CategoryValue category;
+        private Long id;
+        private String name;
+        private List<String> photoUrls;
+        private String status;
+        private List<TagValue> tags;
+
+        private Builder() {
+        }
+
+        public Builder category(CategoryValue category) {
+            this.category = category;
+            return this;
+        }
+
+        /**
+         * Uses the shared {@link CategoryValue} for {@code id} and {@code name}.
+         */
+        public Builder category(long id, String name) {
+            return category(CategoryValue.of(id, name));
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder photoUrls(List<String> photoUrls) {
+            this.photoUrls = photoUrls;
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder tags(List<TagValue> tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        /**
+         * Replaces the tag list with the single shared {@link TagValue} for {@code id}
+         * and {@code name}.
+         */
+        public Builder tag(long id, String name) {
+            return tags(List.of(TagValue.of(id, name)));
+        }
+
+        public PetValue build() {
+            return new PetValue(category, id, name, photoUrls, status, tags);
+        }
+    }
+}
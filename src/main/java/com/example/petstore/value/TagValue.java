@@ -0,0 +1,23 @@
+package com.example.petstore.value;
+
+import com.example.petstore.dto.Tag;
+
+/**
+ * Immutable counterpart of {@link Tag}. {@link #of(Long, String)} hands out shared
+ * instances of recently used tags.
+ */
+public record TagValue(Long id, String name) {
+    private static final Flyweights<TagValue> FLYWEIGHTS = new Flyweights<>(TagValue::new, TagValue::id, TagValue::name);
+
+    public static TagValue of(Long id, String name) {
+        return FLYWEIGHTS.of(id, name);
+    }
+
+    public static TagValue from(Tag tag) {
+        return tag == null ? null : of(tag.getId(), tag.getName());
+    }
+
+    public Tag toTag() {
+        return new Tag(name, id);
+    }
+}
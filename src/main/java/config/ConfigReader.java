@@ -1,29 +1,295 @@
 package config;
 
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
+import java.nio.file.Paths;
 
+/**
+ * Static access to the suite configuration. {@code config.properties} is read from the
+ * class path, or from the file named by the {@code config_file} system property, and
+ * overlaid with {@code PETSTORE_*} environment variables and system properties (see
+ * {@link ReloadableConfig}).
+ * <p>
+ * Every getter reads the current {@link ConfigSnapshot} without locking. With
+ * {@code config_watch=true} the file is watched and changes take effect mid-run for
+ * code that reads its settings as it goes, such as the load generators. Keys passed as
+ * system properties stay fixed, since those take precedence over the file.
+ */
 public class ConfigReader {
-    private static Properties properties = new Properties();
+    private static final ReloadableConfig config = createConfig();
 
     static {
-        try (FileInputStream fileInputStream = new FileInputStream("src/test/resources/config.properties")) {
-            properties.load(fileInputStream);
-        } catch (IOException e) {
-            System.err.println("Failed to load config.properties: " + e.getMessage());
+        if (config.snapshot().getBoolean("config_watch", false)) {
+            config.watch();
         }
     }
 
+    private static ReloadableConfig createConfig() {
+        String file = System.getProperty("config_file");
+        return file != null
+                ? ReloadableConfig.fromFile(Paths.get(file))
+                : ReloadableConfig.fromClasspath("config.properties");
+    }
+
+    public static ConfigSnapshot snapshot() {
+        return config.snapshot();
+    }
+
+    public static void reload() {
+        config.reload();
+    }
+
+    public static void watch() {
+        config.watch();
+    }
+
     public static String getBaseUrl() {
-        return properties.getProperty("base_url");
+        return snapshot().getString("base_url");
     }
 
     public static String getApiKey() {
-        return properties.getProperty("api_key");
+        return snapshot().getString("api_key");
     }
 
     public static String getContentType() {
-        return properties.getProperty("content_type");
+        return snapshot().getString("content_type");
+    }
+
+    public static int getMaxConnections() {
+        return snapshot().getInt("http_max_connections", 64);
+    }
+
+    public static int getMaxConnectionsPerRoute() {
+        return snapshot().getInt("http_max_connections_per_route", 32);
+    }
+
+    public static long getKeepAliveMillis() {
+        return snapshot().getLong("http_keep_alive_ms", 30000L);
+    }
+
+    public static boolean useStubServer() {
+        return snapshot().getBoolean("stub_server", false);
+    }
+
+    public static double getLoadRatePerSecond() {
+        return snapshot().getDouble("load_rate_per_second", 200);
+    }
+
+    public static int getLoadDurationSeconds() {
+        return snapshot().getInt("load_duration_seconds", 10);
+    }
+
+    public static int getLoadMaxConcurrency() {
+        return snapshot().getInt("load_max_concurrency", 64);
+    }
+
+    public static long getReadStormRequests() {
+        return snapshot().getLong("read_storm_requests", 200000L);
+    }
+
+    public static int getReadStormConcurrency() {
+        return snapshot().getInt("read_storm_concurrency", 256);
+    }
+
+    public static String getReadStormDistribution() {
+        return snapshot().getString("read_storm_distribution", "zipfian");
+    }
+
+    public static int getReadStormKeySpace() {
+        return snapshot().getInt("read_storm_key_space", 10000);
+    }
+
+    public static int getReadStormSeededPets() {
+        return snapshot().getInt("read_storm_seeded_pets", 5000);
+    }
+
+    public static double getReadStormZipfExponent() {
+        return snapshot().getDouble("read_storm_zipf_exponent", 0.99);
+    }
+
+    public static boolean isPetCacheEnabled() {
+        return snapshot().getBoolean("pet_cache_enabled", false);
+    }
+
+    public static long getPetCacheMaxBytes() {
+        return snapshot().getLong("pet_cache_max_bytes", 1048576L);
+    }
+
+    public static long getPetCacheTtlMillis() {
+        return snapshot().getLong("pet_cache_ttl_ms", 30000L);
+    }
+
+    public static int getBatchMaxInFlight() {
+        return snapshot().getInt("batch_max_in_flight", 64);
+    }
+
+    public static int getBatchSize() {
+        return snapshot().getInt("batch_size", 2000);
+    }
+
+    public static String getCorpusFile() {
+        return snapshot().getString("corpus_file", "target/pets.corpus");
+    }
+
+    public static long getCorpusSize() {
+        return snapshot().getLong("corpus_size", 100000L);
+    }
+
+    public static long getCorpusSeed() {
+        return snapshot().getLong("corpus_seed", 42L);
+    }
+
+    public static String getReportMode() {
+        return snapshot().getString("report_mode", "extent");
+    }
+
+    public static int getReportQueueCapacity() {
+        return snapshot().getInt("report_queue_capacity", 1024);
+    }
+
+    public static int getReportChunkEvents() {
+        return snapshot().getInt("report_chunk_events", 10000);
+    }
+
+    public static boolean isLatencyBudgetEnabled() {
+        return snapshot().getBoolean("latency_budget_enabled", false);
+    }
+
+    public static int getMetricsPort() {
+        return snapshot().getInt("metrics_port", -1);
+    }
+
+    public static String getMetricsFile() {
+        return snapshot().getString("metrics_file", "target/metrics.prom");
+    }
+
+    public static String getCassetteMode() {
+        return snapshot().getString("cassette_mode", "off");
+    }
+
+    public static String getCassetteFile() {
+        return snapshot().getString("cassette_file", "target/petstore.cassette");
+    }
+
+    public static long getSoakDurationSeconds() {
+        return snapshot().getLong("soak_duration_seconds", 3600L);
+    }
+
+    public static long getSoakSampleSeconds() {
+        return snapshot().getLong("soak_sample_seconds", 30L);
+    }
+
+    public static long getSoakWarmupSeconds() {
+        return snapshot().getLong("soak_warmup_seconds", 120L);
+    }
+
+    public static int getSoakConcurrency() {
+        return snapshot().getInt("soak_concurrency", 4);
+    }
+
+    public static int getSoakPetPool() {
+        return snapshot().getInt("soak_pet_pool", 1000);
+    }
+
+    public static boolean isSoakForceGc() {
+        return snapshot().getBoolean("soak_force_gc", true);
+    }
+
+    public static double getSoakTrendAlpha() {
+        return snapshot().getDouble("soak_trend_alpha", 0.01);
+    }
+
+    public static double getSoakMinGrowth() {
+        return snapshot().getDouble("soak_min_growth", 0.1);
+    }
+
+    public static String getSoakCsvFile() {
+        return snapshot().getString("soak_csv_file", "target/soak-resources.csv");
+    }
+
+    public static long getFuzzCases() {
+        return snapshot().getLong("fuzz_cases", 20000L);
+    }
+
+    public static int getFuzzWorkers() {
+        return snapshot().getInt("fuzz_workers", 8);
+    }
+
+    public static long getFuzzSeed() {
+        return snapshot().getLong("fuzz_seed", 42L);
+    }
+
+    public static int getFuzzMaxFindings() {
+        return snapshot().getInt("fuzz_max_findings", 5);
+    }
+
+    public static int getFuzzShrinkAttempts() {
+        return snapshot().getInt("fuzz_shrink_attempts", 500);
+    }
+
+    public static int getScenarioParallelism() {
+        return snapshot().getInt("scenario_parallelism", 8);
+    }
+
+    public static int getWorkflowChains() {
+        return snapshot().getInt("workflow_chains", 100);
+    }
+
+    public static int getWorkflowParallelism() {
+        return snapshot().getInt("workflow_parallelism", 16);
+    }
+
+    public static int getWorkflowChainsInFlight() {
+        return snapshot().getInt("workflow_chains_in_flight", 32);
+    }
+
+    public static long getPetIdFirst() {
+        return snapshot().getLong("pet_id_first", 100_000_000_000L);
+    }
+
+    public static long getPetIdLast() {
+        return snapshot().getLong("pet_id_last", 199_999_999_999L);
+    }
+
+    public static int getPetIdBlockSize() {
+        return snapshot().getInt("pet_id_block_size", 1024);
+    }
+
+    public static boolean isPetCleanupEnabled() {
+        return snapshot().getBoolean("pet_cleanup", true);
+    }
+
+    public static long getSweepMaxBodyBytes() {
+        return snapshot().getLong("sweep_max_body_bytes", 4_000_000L);
+    }
+
+    public static int getSweepGrowthFactor() {
+        return snapshot().getInt("sweep_growth_factor", 4);
+    }
+
+    public static int getSweepRequestsPerPoint() {
+        return snapshot().getInt("sweep_requests_per_point", 200);
+    }
+
+    public static long getSweepMaxBytesPerPoint() {
+        return snapshot().getLong("sweep_max_bytes_per_point", 64_000_000L);
+    }
+
+    public static int getSweepConcurrency() {
+        return snapshot().getInt("sweep_concurrency", 4);
+    }
+
+    public static int getSweepWarmupRequests() {
+        return snapshot().getInt("sweep_warmup_requests", 8);
+    }
+
+    public static String getSweepCsvFile() {
+        return snapshot().getString("sweep_csv_file", "target/payload-sweep.csv");
+    }
+
+    public static String getSweepChartFile() {
+        return snapshot().getString("sweep_chart_file", "target/payload-sweep.svg");
+    }
+
+    public static void setBaseUrl(String baseUrl) {
+        config.override("base_url", baseUrl);
     }
 }
@@ -0,0 +1,102 @@
+package config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of the merged configuration at one point in time, with typed
+ * accessors. A value that cannot be parsed fails with the offending key in the message
+ * instead of a bare {@link NumberFormatException}.
+ */
+public final class ConfigSnapshot {
+    private final Map<String, String> values;
+    private final long version;
+
+    ConfigSnapshot(Map<String, String> values, long version) {
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        this.version = version;
+    }
+
+    /**
+     * Increases by one with every reload.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public String getString(String key) {
+        return values.get(key);
+    }
+
+    public String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw invalid(key, value, "an int");
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw invalid(key, value, "a long");
+        }
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw invalid(key, value, "a number");
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        String trimmed = value.trim();
+        if (trimmed.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (trimmed.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw invalid(key, value, "true or false");
+    }
+
+    /**
+     * Reads a duration stored in milliseconds, as the {@code *_ms} keys are.
+     */
+    public Duration getMillis(String key, long defaultMillis) {
+        return Duration.ofMillis(getLong(key, defaultMillis));
+    }
+
+    private static IllegalStateException invalid(String key, String value, String expected) {
+        return new IllegalStateException("Config key '" + key + "' must be " + expected + ", was '" + value + "'");
+    }
+}
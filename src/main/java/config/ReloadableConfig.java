@@ -0,0 +1,188 @@
+package config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Configuration loaded from a properties file and overlaid, in increasing precedence,
+ * with {@code PETSTORE_*} environment variables ({@code PETSTORE_LOAD_RATE_PER_SECOND}
+ * sets {@code load_rate_per_second}), system properties and values set at runtime with
+ * {@link #override(String, String)}.
+ * <p>
+ * Readers get the current {@link ConfigSnapshot} with a single volatile read. A reload
+ * builds a new snapshot and swaps it in, so a reader sees either the old or the new
+ * configuration, never a mix. {@link #watch()} reloads whenever the file changes on disk.
+ */
+public final class ReloadableConfig implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReloadableConfig.class);
+    private static final String ENV_PREFIX = "PETSTORE_";
+
+    private final URL source;
+    private final Map<String, String> environment;
+    private final Map<String, String> overrides = new ConcurrentHashMap<>();
+    private final AtomicReference<ConfigSnapshot> current = new AtomicReference<>();
+    private volatile WatchService watchService;
+
+    /**
+     * @param source properties file to read, or {@code null} to run on overlays and
+     *               defaults only
+     */
+    public ReloadableConfig(URL source, Map<String, String> environment) {
+        this.source = source;
+        this.environment = environment;
+        current.set(load(0));
+    }
+
+    /**
+     * Reads {@code file} from disk; it must exist.
+     */
+    public static ReloadableConfig fromFile(Path file) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException("Config file not found: " + file.toAbsolutePath());
+        }
+        try {
+            return new ReloadableConfig(file.toUri().toURL(), System.getenv());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads {@code resource} from the class path, or runs without a file, with a
+     * warning, when it is not there.
+     */
+    public static ReloadableConfig fromClasspath(String resource) {
+        URL url = ReloadableConfig.class.getClassLoader().getResource(resource);
+        if (url == null) {
+            logger.warn("{} not found on the class path; using defaults, environment and system properties", resource);
+        }
+        return new ReloadableConfig(url, System.getenv());
+    }
+
+    public ConfigSnapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Sets {@code key} above every other source. Survives reloads.
+     */
+    public void override(String key, String value) {
+        overrides.put(key, value);
+        reload();
+    }
+
+    public synchronized void reload() {
+        current.set(load(current.get().getVersion() + 1));
+    }
+
+    /**
+     * Starts a daemon thread that reloads whenever the source file is modified. Only
+     * works for files on the default file system, not for resources inside a jar.
+     */
+    public synchronized void watch() {
+        if (watchService != null) {
+            return;
+        }
+        Path file = sourcePath();
+        if (file == null) {
+            logger.warn("Cannot watch config source {}", source);
+            return;
+        }
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            file.getParent().register(service, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            watchService = service;
+            Thread watcher = new Thread(() -> watchLoop(service, file), "config-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+            logger.info("Watching {} for changes", file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to watch " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private void watchLoop(WatchService service, Path file) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    try {
+                        reload();
+                        logger.info("Reloaded {} (version {})", file, snapshot().getVersion());
+                    } catch (RuntimeException e) {
+                        logger.error("Failed to reload {}; keeping the previous configuration", file, e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    private ConfigSnapshot load(long version) {
+        Map<String, String> values = new HashMap<>();
+        if (source != null) {
+            Properties properties = new Properties();
+            try (InputStream in = source.openStream()) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read config from " + source, e);
+            }
+            properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+        }
+        environment.forEach((name, value) -> {
+            if (name.startsWith(ENV_PREFIX)) {
+                values.put(name.substring(ENV_PREFIX.length()).toLowerCase(), value);
+            }
+        });
+        System.getProperties().stringPropertyNames().forEach(key -> values.put(key, System.getProperty(key)));
+        values.putAll(overrides);
+        return new ConfigSnapshot(values, version);
+    }
+
+    private Path sourcePath() {
+        if (source == null || !"file".equals(source.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(source.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package logging;
+
+/**
+ * What {@link RingBufferAsyncAppender} does with an event when its buffer is full.
+ */
+public enum DiscardPolicy {
+    /**
+     * Drop the new event.
+     */
+    DISCARD,
+    /**
+     * Drop TRACE, DEBUG and INFO events; wait for room for WARN and ERROR.
+     */
+    DISCARD_BELOW_WARN,
+    /**
+     * Wait for room. Logging can stall the calling thread, but nothing is lost.
+     */
+    BLOCK
+}
@@ -0,0 +1,170 @@
+package logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Writes each event as one line of JSON:
+ * <pre>
+ * {"ts":1760659200000,"level":"INFO","thread":"main","logger":"com.example.petstore.CreatePetTest","msg":"..."}
+ * </pre>
+ * Strings are escaped and UTF-8 encoded straight into a byte array that is reused
+ * across events, so {@link #writeTo(ILoggingEvent, OutputStream)} allocates nothing
+ * once the array has grown to the largest line seen. Only events carrying an
+ * exception pay for rendering the stack trace.
+ * <p>
+ * {@link #encode(ILoggingEvent)} is there for the stock logback appenders and has to
+ * return a fresh array per event; {@link JsonStreamAppender} uses the allocation-free
+ * path.
+ */
+public class JsonEncoder extends EncoderBase<ILoggingEvent> {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+
+    private byte[] buffer = new byte[1024];
+    private int position;
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public synchronized byte[] encode(ILoggingEvent event) {
+        render(event);
+        return Arrays.copyOf(buffer, position);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    /**
+     * Renders the event into the reusable buffer and writes it to {@code out}.
+     */
+    public synchronized void writeTo(ILoggingEvent event, OutputStream out) throws IOException {
+        render(event);
+        out.write(buffer, 0, position);
+    }
+
+    private void render(ILoggingEvent event) {
+        position = 0;
+        writeAscii("{\"ts\":");
+        writeLong(event.getTimeStamp());
+        writeAscii(",\"level\":\"");
+        writeAscii(event.getLevel().levelStr);
+        writeAscii("\",\"thread\":");
+        writeString(event.getThreadName());
+        writeAscii(",\"logger\":");
+        writeString(event.getLoggerName());
+        writeAscii(",\"msg\":");
+        writeString(event.getFormattedMessage());
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            writeAscii(",\"exception\":");
+            writeString(ThrowableProxyUtil.asString(throwable));
+        }
+        writeByte('}');
+        for (byte b : LINE_SEPARATOR) {
+            writeByte(b);
+        }
+    }
+
+    private void writeAscii(String value) {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            writeAscii("null");
+            return;
+        }
+        // Worst case is six bytes per char for a unicode escape, plus the quotes.
+        ensureCapacity(value.length() * 6 + 2);
+        buffer[position++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer[position++] = '\\';
+                buffer[position++] = (byte) c;
+            } else if (c == '\n') {
+                buffer[position++] = '\\';
+                buffer[position++] = 'n';
+            } else if (c == '\r') {
+                buffer[position++] = '\\';
+                buffer[position++] = 'r';
+            } else if (c == '\t') {
+                buffer[position++] = '\\';
+                buffer[position++] = 't';
+            } else if (c < 0x20) {
+                buffer[position++] = '\\';
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buffer[position++] = '"';
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) b;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes {@link JsonEncoder} lines to standard out or to a file without allocating
+ * per event. Output is buffered and only flushed when the owning
+ * {@link RingBufferAsyncAppender} runs out of queued events, so a burst becomes a few
+ * large writes instead of one write per line.
+ * <p>
+ * Meant to sit behind {@link RingBufferAsyncAppender}, which calls it from a single
+ * thread. Used on its own it still works, but nothing flushes it until it stops.
+ */
+public class JsonStreamAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements Flushable {
+    private final JsonEncoder encoder = new JsonEncoder();
+    private String file;
+    private int outputBufferSize = 64 * 1024;
+    private OutputStream out;
+
+    @Override
+    public void start() {
+        try {
+            OutputStream target = file == null
+                    ? System.out
+                    : new FileOutputStream(file, true);
+            out = new BufferedOutputStream(target, outputBufferSize);
+        } catch (IOException e) {
+            addError("Failed to open [" + file + "]", e);
+            return;
+        }
+        encoder.setContext(context);
+        encoder.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        encoder.stop();
+        try {
+            out.flush();
+            if (file != null) {
+                out.close();
+            }
+        } catch (IOException e) {
+            addError("Failed to close [" + (file == null ? "stdout" : file) + "]", e);
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        try {
+            encoder.writeTo(event, out);
+        } catch (IOException e) {
+            addError("Failed to write event", e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * File to append to; standard out when not set.
+     */
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    public void setOutputBufferSize(int outputBufferSize) {
+        this.outputBufferSize = outputBufferSize;
+    }
+}
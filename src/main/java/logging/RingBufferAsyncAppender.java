@@ -0,0 +1,217 @@
+package logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands logging events to a background thread through a bounded lock-free
+ * {@link RingBuffer}, so request threads never wait on console or file I/O.
+ * <p>
+ * When the buffer is full the configured {@link DiscardPolicy} decides whether the
+ * event is dropped or the caller waits. Dropped events are counted and reported when
+ * the appender stops. Attached appenders that implement {@link Flushable} are flushed
+ * whenever the buffer runs empty, so they can batch their writes.
+ *
+ * <pre>
+ * &lt;appender name="ASYNC" class="logging.RingBufferAsyncAppender"&gt;
+ *     &lt;bufferSize&gt;8192&lt;/bufferSize&gt;
+ *     &lt;discardPolicy&gt;DISCARD_BELOW_WARN&lt;/discardPolicy&gt;
+ *     &lt;appender-ref ref="JSON"/&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder discarded = new LongAdder();
+    private int bufferSize = 8192;
+    private DiscardPolicy discardPolicy = DiscardPolicy.DISCARD_BELOW_WARN;
+    private long maxFlushMillis = 1000;
+    private boolean includeCallerData;
+
+    private RingBuffer<ILoggingEvent> buffer;
+    private Thread worker;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to [" + name + "]");
+            return;
+        }
+        buffer = new RingBuffer<>(bufferSize);
+        running = true;
+        worker = new Thread(this::drain, "logback-ring-" + name);
+        worker.setDaemon(true);
+        worker.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Gave up on " + buffer.size() + " queued events after " + maxFlushMillis + " ms");
+        }
+        if (discarded.sum() > 0) {
+            addWarn("Discarded " + discarded.sum() + " events because the buffer was full");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        if (buffer.offer(event)) {
+            return;
+        }
+
+        boolean mayWait = discardPolicy == DiscardPolicy.BLOCK
+                || (discardPolicy == DiscardPolicy.DISCARD_BELOW_WARN && event.getLevel().isGreaterOrEqual(Level.WARN));
+        if (!mayWait) {
+            discarded.increment();
+            return;
+        }
+        while (!buffer.offer(event)) {
+            if (!running) {
+                discarded.increment();
+                return;
+            }
+            Thread.onSpinWait();
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void drain() {
+        boolean flushed = true;
+        while (true) {
+            ILoggingEvent event = buffer.poll();
+            if (event != null) {
+                appenders.appendLoopOnAppenders(event);
+                flushed = false;
+                continue;
+            }
+            if (!flushed) {
+                flushAppenders();
+                flushed = true;
+            }
+            if (!running) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void flushAppenders() {
+        Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            Appender<ILoggingEvent> appender = iterator.next();
+            if (appender instanceof Flushable) {
+                try {
+                    ((Flushable) appender).flush();
+                } catch (IOException e) {
+                    addError("Failed to flush appender [" + appender.getName() + "]", e);
+                }
+            }
+        }
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public DiscardPolicy getDiscardPolicy() {
+        return discardPolicy;
+    }
+
+    public void setDiscardPolicy(DiscardPolicy discardPolicy) {
+        this.discardPolicy = discardPolicy;
+    }
+
+    public long getMaxFlushMillis() {
+        return maxFlushMillis;
+    }
+
+    public void setMaxFlushMillis(long maxFlushMillis) {
+        this.maxFlushMillis = maxFlushMillis;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
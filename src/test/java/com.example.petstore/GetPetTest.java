@@ -1,47 +1,46 @@
 package com.example.petstore;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import config.ConfigReader;
-import io.restassured.RestAssured;
-import io.restassured.response.Response;
+import com.example.petstore.value.PetValue;
 import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import utils.ExtentReportUtil;
+import utils.PetStoreClient;
+import utils.PetResponse;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+import utils.TestPets;
 
 import static io.restassured.RestAssured.given;
 
+@ExtendWith(PetStoreStubExtension.class)
 public class GetPetTest {
     private static final Logger logger = LoggerFactory.getLogger(GetPetTest.class);
 
-    private static ExtentReports extent;
-    private static ExtentTest test;
-
-    @BeforeAll
-    static void setup() {
-        RestAssured.baseURI = ConfigReader.getBaseUrl();
-        extent = ExtentReportUtil.getExtentReports();
-    }
-
     @AfterAll
     static void tearDown() {
         ExtentReportUtil.flushReports();
     }
 
+    /**
+     * @return the id of a new pet
+     */
+    private Long createPet() {
+        PetValue pet = TestPets.newPet().build();
+        PetStoreClient.createPet(pet).then().statusCode(200);
+        return pet.id();
+    }
+
     @Test
     void getPetById() {
-        test = extent.createTest("Get Pet By ID Test");
-        Long petId = 1L;
+        ReportNode test = ExtentReportUtil.createTest("Get Pet By ID Test");
+        Long petId = createPet();
 
         logger.info("Retrieving pet details by ID: {}", petId);
         test.info("Retrieving pet details by ID: " + petId);
-        Response response = given()
-                .header("api_key", ConfigReader.getApiKey())
-                .when()
-                .get("/pet/{petId}", petId);
+        PetResponse response = PetResponse.of(PetStoreClient.getPet(petId));
 
         logger.info("Verifying response status code");
         test.info("Verifying response status code");
@@ -65,23 +64,20 @@ public class GetPetTest {
             test.fail("Expected content type application/json, but got " + contentType);
         }
 
-        logger.info("Response body for pet ID: {}", response.getBody().asPrettyString());
-        test.info("Response body for pet ID: " + response.getBody().asPrettyString());
+        logger.info("Response body for pet ID: {}", response.prettyBody());
+        test.info("Response body for pet ID: " + response.prettyBody());
         logger.info("Pet retrieved successfully with ID: {}", petId);
         test.pass("Pet retrieved successfully with ID: " + petId);
     }
 
     @Test
     void getPetByInvalidId() {
-        test = extent.createTest("Get Pet by Invalid ID Test");
+        ReportNode test = ExtentReportUtil.createTest("Get Pet by Invalid ID Test");
         long petId = -1L;
 
         logger.info("Retrieving pet details by invalid ID: {}", petId);
         test.info("Retrieving pet details by invalid ID: " + petId);
-        Response response = given()
-                .header("api_key", ConfigReader.getApiKey())
-                .when()
-                .get("/pet/{petId}", petId);
+        PetResponse response = PetResponse.of(PetStoreClient.getPet(petId));
 
         logger.info("Verifying response status code");
         test.info("Verifying response status code");
@@ -93,22 +89,19 @@ public class GetPetTest {
             logger.error("Expected status code 404 for invalid ID, but got {}", statusCode);
             test.fail("Expected status code 404 for invalid ID, but got " + statusCode);
         }
-        logger.info("Response body for invalid ID: {}", response.getBody().asPrettyString());
-        test.info("Response body for invalid ID: " + response.getBody().asPrettyString());
+        logger.info("Response body for invalid ID: {}", response.prettyBody());
+        test.info("Response body for invalid ID: " + response.prettyBody());
         logger.info("Invalid ID was rejected as expected. It should not exist.");
         test.info("Invalid ID was rejected as expected. It should not exist.");
     }
 
     @Test
     void getPetByStringId() {
-        test = extent.createTest("Get Pet by String ID Test");
+        ReportNode test = ExtentReportUtil.createTest("Get Pet by String ID Test");
         String petId = "invalidStringId";
 
         test.info("Retrieving pet details by string ID: " + petId);
-        Response response = given()
-                .header("api_key", ConfigReader.getApiKey())
-                .when()
-                .get("/pet/{petId}", petId);
+        PetResponse response = PetResponse.of(PetStoreClient.getPet(petId));
 
         logger.info("Verifying response status code");
         test.info("Verifying response status code");
@@ -121,22 +114,22 @@ public class GetPetTest {
             test.fail("Expected status code 404 for string ID, but got " + statusCode);
         }
 
-        logger.info("Response body for string ID: {}", response.getBody().asPrettyString());
-        test.info("Response body for string ID: " + response.getBody().asPrettyString());
+        logger.info("Response body for string ID: {}", response.prettyBody());
+        test.info("Response body for string ID: " + response.prettyBody());
         logger.info("String ID was rejected as expected. It should be a long value.");
         test.info("String ID was rejected as expected. It should be a long value.");
     }
 
     @Test
     void getPetByNoId() {
-        test = extent.createTest("Get Pet by No ID Test");
+        ReportNode test = ExtentReportUtil.createTest("Get Pet by No ID Test");
 
         logger.info("Retrieving pet details without an ID");
         test.info("Retrieving pet details without an ID");
-        Response response = given()
-                .header("api_key", ConfigReader.getApiKey())
+        PetResponse response = PetResponse.of(given()
+                .spec(PetStoreClient.spec())
                 .when()
-                .get("/pet");
+                .get("/pet"));
 
         test.info("Verifying response status code");
         int statusCode = response.getStatusCode();
@@ -148,23 +141,20 @@ public class GetPetTest {
             test.fail("Expected status code 405 for missing ID, but got " + statusCode);
         }
 
-        logger.info("Response body for missing ID: {}", response.getBody().asPrettyString());
-        test.info("Response body for missing ID: " + response.getBody().asPrettyString());
+        logger.info("Response body for missing ID: {}", response.prettyBody());
+        test.info("Response body for missing ID: " + response.prettyBody());
         logger.info("No ID was rejected as expected. The API should require an ID.");
         test.info("No ID was rejected as expected. The API should require an ID.");
     }
 
     @Test
     void getPetByNonExistentId() {
-        test = extent.createTest("Get Pet by Non-Existent ID Test");
+        ReportNode test = ExtentReportUtil.createTest("Get Pet by Non-Existent ID Test");
         int petId = 999999;
 
         logger.info("Retrieving pet details by non-existent ID: {}", petId);
         test.info("Retrieving pet details by non-existent ID: " + petId);
-        Response response = given()
-                .header("api_key", ConfigReader.getApiKey())
-                .when()
-                .get("/pet/{petId}", petId);
+        PetResponse response = PetResponse.of(PetStoreClient.getPet(petId));
 
         int statusCode = response.getStatusCode();
         if (statusCode == 404) {
@@ -174,7 +164,7 @@ public class GetPetTest {
             logger.error("Expected status code 404 for non-existent pet ID, but got {}", statusCode);
             test.fail("Expected status code 404 for non-existent pet ID, but got " + statusCode);
         }
-        String responseBody = response.getBody().asPrettyString();
+        String responseBody = response.prettyBody();
         logger.info("Response body for non-existent pet ID: {}", responseBody);
         test.info("Response body for non-existent pet ID: " + responseBody);
 
@@ -185,15 +175,12 @@ public class GetPetTest {
     }
     @Test
     void getPetByDecimalId() {
-        test = extent.createTest("Get Pet by Decimal ID Test");
+        ReportNode test = ExtentReportUtil.createTest("Get Pet by Decimal ID Test");
         double decimalId = 123.45;
 
         logger.info("Retrieving pet details by decimal ID: {}", decimalId);
         test.info("Retrieving pet details by decimal ID: " + decimalId);
-        Response response = given()
-                .header("api_key", ConfigReader.getApiKey())
-                .when()
-                .get("/pet/{petId}", decimalId);
+        PetResponse response = PetResponse.of(PetStoreClient.getPet(decimalId));
 
         logger.info("Verifying response status code");
         test.info("Verifying response status code");
@@ -206,22 +193,19 @@ public class GetPetTest {
             test.fail("Expected status code 404 for decimal ID, but got " + statusCode);
         }
 
-        logger.info("Response body for decimal ID: {}", response.getBody().asPrettyString());
-        test.info("Response body for decimal ID: " + response.getBody().asPrettyString());
+        logger.info("Response body for decimal ID: {}", response.prettyBody());
+        test.info("Response body for decimal ID: " + response.prettyBody());
         logger.info("Decimal ID was rejected as expected. It should be an integer.");
         test.info("Decimal ID was rejected as expected. It should be an integer.");
     }
     @Test
     void getPetByLargeId() {
-        test = extent.createTest("Get Pet by Large ID Test");
+        ReportNode test = ExtentReportUtil.createTest("Get Pet by Large ID Test");
         long largeId = 4654546546464561443L;
         logger.info("Retrieving pet details by large ID: " + largeId);
         test.info("Retrieving pet details by large ID: " + largeId);
 
-        Response response = given()
-                .header("api_key", ConfigReader.getApiKey())
-                .when()
-                .get("/pet/{petId}", largeId);
+        PetResponse response = PetResponse.of(PetStoreClient.getPet(largeId));
 
         logger.info("Verifying response status code");
         test.info("Verifying response status code");
@@ -234,8 +218,8 @@ public class GetPetTest {
             test.fail("Expected status code 404 for large ID, but got " + statusCode);
         }
 
-        logger.info("Response body for large ID: {}", response.getBody().asPrettyString());
-        test.info("Response body for large ID: " + response.getBody().asPrettyString());
+        logger.info("Response body for large ID: {}", response.prettyBody());
+        test.info("Response body for large ID: " + response.prettyBody());
         logger.info("Large ID was rejected as expected. It should be a valid integer.");
         test.info("Large ID was rejected as expected. It should be a valid integer.");
     }
@@ -0,0 +1,91 @@
+package com.example.petstore;
+
+import com.example.petstore.value.PetValue;
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ExtentReportUtil;
+import utils.PetIds;
+import utils.PetResponse;
+import utils.PetStoreClient;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+import utils.TestPets;
+import workflow.Workflow;
+import workflow.WorkflowReport;
+import workflow.WorkflowScheduler;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs {@code workflow_chains} independent create → (get, update) → delete → get
+ * lifecycles at once. Every chain works on the pet it created itself, whose id is the
+ * chain's index into a range leased before the run, so a recorded run replays whichever
+ * pool thread picks up which chain.
+ */
+@ExtendWith(PetStoreStubExtension.class)
+public class PetLifecycleWorkflowTest {
+    private static final Logger logger = LoggerFactory.getLogger(PetLifecycleWorkflowTest.class);
+
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    // get and update both depend only on create, so they run at the same time and get
+    // must not look at the status.
+    private static Workflow lifecycle(long firstId) {
+        return Workflow.builder("Pet lifecycle")
+                .step("create", context -> {
+                    PetValue pet = TestPets.pet(firstId + context.getChain()).name("Miffy-" + context.getChain()).build();
+                    PetResponse response = PetResponse.of(PetStoreClient.createPet(pet));
+                    response.then().statusCode(200);
+                    response.assertPetMatches(pet);
+                    context.put("id", pet.id());
+                    context.put("name", pet.name());
+                })
+                .step("get", List.of("create"), context -> {
+                    long id = context.get("id", Long.class);
+                    PetResponse response = PetResponse.of(PetStoreClient.getPet(id));
+                    response.then().statusCode(200);
+                    assertEquals(id, response.getPet().getId(), "id");
+                    assertEquals(context.get("name", String.class), response.getPet().getName(), "name");
+                })
+                .step("update", List.of("create"), context -> {
+                    PetValue pet = TestPets.pet(context.get("id", Long.class)).name(context.get("name", String.class)).status("sold").build();
+                    PetResponse response = PetResponse.of(PetStoreClient.updatePet(pet));
+                    response.then().statusCode(200);
+                    response.assertPetMatches(pet);
+                })
+                .step("delete", List.of("get", "update"), context ->
+                        PetStoreClient.deletePet(context.get("id", Long.class)).then().statusCode(200))
+                .step("get deleted", List.of("delete"), context ->
+                        PetStoreClient.getPet(context.get("id", Long.class)).then().statusCode(404))
+                .build();
+    }
+
+    @Test
+    void petLifecyclesRunConcurrently() throws InterruptedException {
+        ReportNode test = ExtentReportUtil.createTest("Pet Lifecycle Workflow Test");
+        int chains = ConfigReader.getWorkflowChains();
+        Workflow lifecycle = lifecycle(PetIds.lease(chains));
+        ForkJoinPool pool = new ForkJoinPool(ConfigReader.getWorkflowParallelism());
+        try {
+            WorkflowReport report = new WorkflowScheduler(pool, ConfigReader.getWorkflowChainsInFlight())
+                    .run(lifecycle, chains);
+
+            logger.info(report.summary());
+            report.logTo(test);
+            assertEquals(0, report.getFailedChains(), "Failed chains, first failures: " + report.getFailures());
+            test.pass("Every chain created, read, updated and deleted its own pet");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.petstore;
+
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.opentest4j.AssertionFailedError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scenario.Scenario;
+import scenario.ScenarioPlan;
+import scenario.ScenarioResult;
+import scenario.ScenarioRunner;
+import utils.ExtentReportUtil;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The {@code POST /pet} and {@code PUT /pet} cases that change one field of a valid pet,
+ * read from {@code src/test/resources/scenarios}. Add a case by adding a row there.
+ */
+@ExtendWith(PetStoreStubExtension.class)
+public class PetScenarioTest {
+    private static final Logger logger = LoggerFactory.getLogger(PetScenarioTest.class);
+    private static final ScenarioPlan PLAN = ScenarioPlan.compile(
+            "scenarios/create-pet.scenarios",
+            "scenarios/update-pet.scenarios");
+
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> petScenarios() throws InterruptedException {
+        int parallelism = ConfigReader.getScenarioParallelism();
+        long start = System.nanoTime();
+        List<ScenarioResult> results = new ScenarioRunner(parallelism).run(PLAN);
+        logger.info("Ran {} scenarios on {} threads in {} ms", results.size(), parallelism, (System.nanoTime() - start) / 1_000_000);
+
+        return results.stream().map(result -> DynamicTest.dynamicTest(result.scenario().getName(), () -> report(result)));
+    }
+
+    private static void report(ScenarioResult result) {
+        Scenario scenario = result.scenario();
+        ReportNode test = ExtentReportUtil.createTest(scenario.getName());
+        test.info(scenario.getMethod() + " /pet with " + scenario.getMutations() + " (" + scenario.getSource() + ")");
+        test.info("Response " + result.statusCode() + " in " + result.nanos() / 1_000 + " µs: " + result.body());
+        if (result.passed()) {
+            test.pass("Response met every expectation");
+            return;
+        }
+        for (String mismatch : result.mismatches()) {
+            logger.error("{}: {}", scenario, mismatch);
+            test.fail(mismatch);
+        }
+        if (!scenario.isReportOnly()) {
+            throw new AssertionFailedError(scenario + ": " + String.join("; ", result.mismatches()));
+        }
+    }
+}
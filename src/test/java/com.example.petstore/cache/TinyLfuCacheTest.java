@@ -0,0 +1,92 @@
+package com.example.petstore.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLfuCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private TinyLfuCache<Integer, String> cache(long maximumWeight) {
+        return TinyLfuCache.<Integer, String>builder()
+                .maximumWeight(maximumWeight)
+                .weigher(String::length)
+                .timeToLive(Duration.ofSeconds(10))
+                .ticker(now::get)
+                .build();
+    }
+
+    @Test
+    void countsHitsMissesAndInvalidations() {
+        TinyLfuCache<Integer, String> cache = cache(1_000);
+        assertNull(cache.get(1));
+        cache.put(1, "Miffy");
+        assertEquals("Miffy", cache.get(1));
+        cache.invalidate(1);
+        assertNull(cache.get(1));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, stats.invalidations());
+        assertEquals(0, stats.size());
+        assertEquals(0, stats.weight());
+    }
+
+    @Test
+    void expiresEntriesAfterTimeToLive() {
+        TinyLfuCache<Integer, String> cache = cache(1_000);
+        cache.put(1, "Miffy");
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertNotNull(cache.get(1));
+        cache.put(1, "Snowball");
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertEquals("Snowball", cache.get(1), "rewriting restarts the time to live");
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(cache.get(1));
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    @Test
+    void staysWithinMaximumWeight() {
+        TinyLfuCache<Integer, String> cache = cache(1_000);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, "x".repeat(1 + i % 50));
+            cache.get(i % 97);
+            assertTrue(cache.stats().weight() <= 1_000);
+        }
+        assertTrue(cache.stats().evictions() > 0);
+        cache.put(-1, "x".repeat(1_001));
+        assertNull(cache.get(-1), "values heavier than the cache are not stored");
+    }
+
+    @Test
+    void keepsPopularEntriesThroughAScan() {
+        TinyLfuCache<Integer, String> cache = cache(100);
+        for (int round = 0; round < 20; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                if (cache.get(hot) == null) {
+                    cache.put(hot, "h");
+                }
+            }
+        }
+        for (int cold = 1_000; cold < 11_000; cold++) {
+            cache.get(cold);
+            cache.put(cold, "c");
+        }
+
+        int hotHits = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            if (cache.get(hot) != null) {
+                hotHits++;
+            }
+        }
+        assertTrue(hotHits >= 45, "only " + hotHits + " of 50 popular entries survived");
+    }
+}
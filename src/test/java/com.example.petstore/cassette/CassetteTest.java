@@ -0,0 +1,120 @@
+package com.example.petstore.cassette;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CassetteTest {
+    @TempDir
+    Path directory;
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String body(CassetteEntry entry) {
+        return StandardCharsets.UTF_8.decode(entry.body()).toString();
+    }
+
+    @Test
+    void replaysRecordedResponsesInOrder() throws IOException {
+        Path file = directory.resolve("pets.cassette");
+        long getPet = Cassette.requestHash("GET", "/pet/1", null);
+        long postPet = Cassette.requestHash("POST", "/pet", utf8("{\"name\":\"Miffy\"}"));
+        try (CassetteWriter writer = CassetteWriter.create(file)) {
+            writer.append(getPet, 404, "application/json", utf8("{\"message\":\"Pet not found\"}"));
+            writer.append(postPet, 200, "application/json", utf8("{\"id\":1,\"name\":\"Miffy\"}"));
+            writer.append(getPet, 200, null, utf8("{\"id\":1}"));
+        }
+
+        Cassette cassette = Cassette.open(file);
+        assertEquals(3, cassette.size());
+
+        CassetteEntry first = cassette.next(getPet);
+        assertEquals(404, first.statusCode());
+        assertEquals("application/json", first.contentType());
+        assertEquals("{\"message\":\"Pet not found\"}", body(first));
+
+        assertEquals("{\"id\":1,\"name\":\"Miffy\"}", body(cassette.next(postPet)));
+
+        CassetteEntry second = cassette.next(getPet);
+        assertEquals(200, second.statusCode());
+        assertNull(second.contentType());
+        assertEquals("{\"id\":1}", body(second));
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("{\"id\":1}", body(cassette.next(getPet)), "the last response repeats once the recording runs out");
+        }
+
+        assertNull(cassette.next(Cassette.requestHash("GET", "/pet/2", null)));
+
+        cassette.rewind();
+        assertEquals(404, cassette.next(getPet).statusCode());
+    }
+
+    @Test
+    void bodiesAreReadOnlyViewsOfTheMapping() throws IOException {
+        Path file = directory.resolve("view.cassette");
+        long request = Cassette.requestHash("GET", "/pet/1", null);
+        try (CassetteWriter writer = CassetteWriter.create(file)) {
+            writer.append(request, 200, "application/json", utf8("{}"));
+        }
+
+        CassetteEntry entry = Cassette.open(file).next(request);
+        ByteBuffer body = entry.body();
+        assertTrue(body.isDirect());
+        assertTrue(body.isReadOnly());
+        assertEquals(2, body.remaining());
+        assertEquals("{}", new String(entry.bodyStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(2, entry.body().remaining(), "reading the stream leaves the entry as it was");
+    }
+
+    @Test
+    void findsEveryEntryOfALargeCassette() throws IOException {
+        Path file = directory.resolve("large.cassette");
+        int count = 10_000;
+        try (CassetteWriter writer = CassetteWriter.create(file)) {
+            for (int i = 0; i < count; i++) {
+                writer.append(Cassette.requestHash("GET", "/pet/" + i, null), 200, "application/json", utf8("{\"id\":" + i + "}"));
+            }
+        }
+
+        Cassette cassette = Cassette.open(file);
+        for (int i = 0; i < count; i++) {
+            assertEquals("{\"id\":" + i + "}", body(cassette.next(Cassette.requestHash("GET", "/pet/" + i, null))));
+        }
+    }
+
+    @Test
+    void requestHashCoversMethodPathAndBody() {
+        long hash = Cassette.requestHash("POST", "/pet", utf8("{}"));
+        assertEquals(hash, Cassette.requestHash("POST", "/pet", utf8("{}")));
+        assertNotEquals(hash, Cassette.requestHash("PUT", "/pet", utf8("{}")));
+        assertNotEquals(hash, Cassette.requestHash("POST", "/pet/1", utf8("{}")));
+        assertNotEquals(hash, Cassette.requestHash("POST", "/pet", utf8("{ }")));
+    }
+
+    @Test
+    void rejectsUnfinishedRecording() throws IOException {
+        Path file = directory.resolve("unfinished.cassette");
+        CassetteWriter writer = CassetteWriter.create(file);
+        writer.append(1L, 200, null, utf8("{}"));
+
+        IOException error = assertThrows(IOException.class, () -> Cassette.open(file));
+        assertTrue(error.getMessage().contains("not closed"), error.getMessage());
+        writer.close();
+
+        Files.writeString(file, "not a cassette at all, just some text");
+        assertThrows(IOException.class, () -> Cassette.open(file));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.petstore.corpus;
+
+import com.example.petstore.dto.Pet;
+import com.example.petstore.value.PetValue;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PetCorpusTest {
+    private final Gson gson = new Gson();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sameSeedWritesIdenticalFiles() throws IOException {
+        Path first = directory.resolve("first.corpus");
+        Path second = directory.resolve("second.corpus");
+        Path otherSeed = directory.resolve("other.corpus");
+
+        PetCorpus.create(first, new PetGenerator(42, 1), 5_000).close();
+        PetCorpus.create(second, new PetGenerator(42, 1), 5_000).close();
+        PetCorpus.create(otherSeed, new PetGenerator(43, 1), 5_000).close();
+
+        assertEquals(-1, Files.mismatch(first, second));
+        assertNotEquals(-1, Files.mismatch(first, otherSeed));
+    }
+
+    @Test
+    void storesGeneratedPetsAsJson() throws IOException {
+        try (PetCorpus corpus = PetCorpus.create(directory.resolve("pets.corpus"), new PetGenerator(7, 1_000), 2_000)) {
+            assertEquals(2_000, corpus.size());
+            PetGenerator generator = corpus.generator();
+            Set<String> names = new HashSet<>();
+            Set<String> statuses = new HashSet<>();
+            for (int i = 0; i < corpus.size(); i++) {
+                Pet pet = gson.fromJson(new String(corpus.bytes(i), StandardCharsets.UTF_8), Pet.class);
+                assertEquals(generator.pet(i), PetValue.from(pet));
+                assertEquals(1_000 + i, pet.getId());
+                names.add(pet.getName());
+                statuses.add(pet.getStatus());
+            }
+            assertTrue(names.size() > 1_000, "names should vary: " + names.size());
+            assertEquals(3, statuses.size());
+            assertThrows(IndexOutOfBoundsException.class, () -> corpus.get(2_000));
+        }
+    }
+
+    @Test
+    void recordsNeverCrossSegments() throws IOException {
+        Path file = directory.resolve("segmented.corpus");
+        PetGenerator generator = new PetGenerator(11, 1);
+        PetCorpus.write(file, generator, 3_000, 4_096);
+
+        try (PetCorpus corpus = PetCorpus.open(file)) {
+            for (int i = 0; i < corpus.size(); i++) {
+                Pet pet = gson.fromJson(new String(corpus.bytes(i), StandardCharsets.UTF_8), Pet.class);
+                assertEquals(generator.pet(i), PetValue.from(pet));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.petstore.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PetIdAllocatorTest {
+    @Test
+    void concurrentThreadsNeverShareAnId() throws InterruptedException {
+        PetIdAllocator allocator = new PetIdAllocator(1_000, 1_000_000, 64);
+        int threads = 8;
+        int perThread = 10_000;
+        long[][] ids = new long[threads][perThread];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long[] mine = ids[t];
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    mine[i] = allocator.next();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long[] all = Arrays.stream(ids).flatMapToLong(Arrays::stream).sorted().toArray();
+        assertEquals(threads * perThread, Arrays.stream(all).distinct().count());
+        assertTrue(all[0] >= 1_000 && all[all.length - 1] <= 1_000_000);
+        for (long[] mine : ids) {
+            for (int i = 1; i < perThread; i++) {
+                assertTrue(mine[i] > mine[i - 1], "each thread counts up within its blocks");
+            }
+        }
+    }
+
+    @Test
+    void exhaustedRangeFails() {
+        PetIdAllocator allocator = new PetIdAllocator(10, 14, 2);
+        long[] ids = new long[5];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = allocator.next();
+        }
+
+        assertArrayEquals(new long[]{10, 11, 12, 13, 14}, ids);
+        assertEquals(15, allocator.leasedUpTo());
+        IllegalStateException exhausted = assertThrows(IllegalStateException.class, allocator::next);
+        assertTrue(exhausted.getMessage().contains("up to 14"), exhausted.getMessage());
+    }
+
+    @Test
+    void leasedRangesAreContiguousAndSkipThreadBlocks() {
+        PetIdAllocator allocator = new PetIdAllocator(10, 40, 4);
+
+        assertEquals(10, allocator.next());
+        assertEquals(14, allocator.lease(8));
+        assertEquals(11, allocator.next(), "the calling thread keeps its block");
+        assertEquals(22, allocator.lease(16));
+        assertThrows(IllegalStateException.class, () -> allocator.lease(4), "only 38 to 40 are left");
+    }
+
+    @Test
+    void trackerKeepsCreatedIdsThatWereNotDeleted() throws InterruptedException {
+        PetIdTracker tracker = new PetIdTracker(1_000_000, 2_000_000);
+        Thread other = new Thread(() -> {
+            for (long id = 1_000_000; id < 1_002_000; id++) {
+                tracker.created(id);
+            }
+        });
+        other.start();
+        for (long id = 1_002_000; id < 1_200_000; id++) {
+            tracker.created(id);
+            tracker.created(id);
+            if (id % 2 == 0) {
+                tracker.deleted(id);
+            }
+        }
+        other.join();
+
+        long[] live = tracker.live();
+        assertEquals(2_000 + 99_000, live.length);
+        assertEquals(1_000_000, live[0]);
+        assertEquals(1_199_999, live[live.length - 1]);
+        assertTrue(Arrays.binarySearch(live, 1_002_001) >= 0);
+        assertTrue(Arrays.binarySearch(live, 1_002_002) < 0);
+    }
+
+    @Test
+    void trackerIgnoresIdsOutsideItsRange() {
+        PetIdTracker tracker = new PetIdTracker(100, 199);
+        tracker.created(99);
+        tracker.created(150);
+        tracker.created(200);
+        tracker.deleted(10);
+
+        assertArrayEquals(new long[]{150}, tracker.live());
+    }
+}
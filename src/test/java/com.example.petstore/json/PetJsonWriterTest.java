@@ -0,0 +1,90 @@
+package com.example.petstore.json;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PetJsonWriterTest {
+    private final Gson gson = new Gson();
+
+    private Pet createPet() {
+        Pet pet = new Pet();
+        pet.setId(1L);
+        pet.setCategory(new Category(1L, "Rabbit"));
+        pet.setName("Miffy");
+        pet.setPhotoUrls(List.of());
+        pet.setTags(List.of(new Tag("Mammal", 1L)));
+        pet.setStatus("available");
+        return pet;
+    }
+
+    private String write(Pet pet) {
+        ByteBuffer buffer = ByteBuffer.allocate(PetJsonWriter.encodedLength(pet));
+        PetJsonWriter.write(pet, buffer);
+        assertEquals(buffer.capacity(), buffer.position(), "encodedLength must match the bytes written");
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void writesSameFieldsAsGson() {
+        Pet pet = createPet();
+
+        assertEquals(gson.toJson(pet), write(pet));
+    }
+
+    @Test
+    void omitsNullFields() {
+        Pet pet = createPet();
+        pet.setId(null);
+        pet.setName(null);
+        pet.setCategory(new Category(null, "Rabbit"));
+        pet.setTags(null);
+
+        assertEquals(gson.toJson(pet), write(pet));
+        assertEquals("{}", write(new Pet()));
+    }
+
+    @Test
+    void escapesAndEncodesNonAsciiStrings() {
+        Pet pet = createPet();
+        pet.setId(Long.MIN_VALUE);
+        pet.setName("Fluffy \"the\" \\ rabbit\n\t\u0001 čćž 日本 🐇");
+        pet.setPhotoUrls(List.of("invalid_url", "https://example.com/a?b=c&d=<e>"));
+        pet.setTags(List.of(new Tag("NonExistentTag%@{}", -999L)));
+
+        assertEquals(JsonParser.parseString(gson.toJson(pet)), JsonParser.parseString(write(pet)));
+    }
+
+    @Test
+    void writesLargePayloads() {
+        Pet pet = createPet();
+        pet.setName("A".repeat(10000));
+
+        assertEquals(gson.toJson(pet), write(pet));
+    }
+
+    @Test
+    void reusesPooledBuffers() {
+        ByteBufferPool pool = new ByteBufferPool(64, 1024);
+        Pet pet = createPet();
+
+        ByteBuffer first = PetJsonWriter.write(pet, pool);
+        byte[] json = Arrays.copyOfRange(first.array(), first.position(), first.limit());
+        pool.release(first);
+        ByteBuffer second = PetJsonWriter.write(pet, pool);
+
+        assertSame(first, second);
+        assertEquals(gson.toJson(pet), new String(json, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.petstore.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsRegistryTest {
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    void rendersCountersAndCumulativeHistogram() {
+        MetricsRegistry registry = new MetricsRegistry(0.01, 0.1);
+        registry.recordResponse("GET", "/pet/{petId}", 200, millis(5));
+        registry.recordResponse("GET", "/pet/{petId}", 200, millis(50));
+        registry.recordResponse("GET", "/pet/{petId}", 404, millis(500));
+        registry.recordError("POST", "/pet", millis(1));
+
+        String scrape = registry.scrape();
+
+        assertTrue(scrape.contains("# TYPE petstore_http_requests_total counter\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_requests_total{method=\"GET\",route=\"/pet/{petId}\",status=\"200\"} 2\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_requests_total{method=\"GET\",route=\"/pet/{petId}\",status=\"404\"} 1\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_request_errors_total{method=\"POST\",route=\"/pet\"} 1\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_request_errors_total{method=\"GET\",route=\"/pet/{petId}\"} 0\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_request_duration_seconds_bucket{method=\"GET\",route=\"/pet/{petId}\",le=\"0.01\"} 1\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_request_duration_seconds_bucket{method=\"GET\",route=\"/pet/{petId}\",le=\"0.1\"} 2\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_request_duration_seconds_bucket{method=\"GET\",route=\"/pet/{petId}\",le=\"+Inf\"} 3\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_request_duration_seconds_count{method=\"GET\",route=\"/pet/{petId}\"} 3\n"), scrape);
+        assertTrue(scrape.contains("petstore_http_request_duration_seconds_sum{method=\"GET\",route=\"/pet/{petId}\"} 0.555\n"), scrape);
+    }
+
+    @Test
+    void escapesLabelValues() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordResponse("GET", "/pet/\"quoted\"\\", 200, 1);
+
+        assertTrue(registry.scrape().contains("route=\"/pet/\\\"quoted\\\"\\\\\""), registry.scrape());
+    }
+
+    @Test
+    void servesScrapeOverHttp() throws IOException, InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordResponse("PUT", "/pet", 200, millis(3));
+
+        try (MetricsHttpServer server = MetricsHttpServer.start(registry, 0)) {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            assertEquals(MetricsRegistry.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElse(null));
+            assertEquals(registry.scrape(), response.body());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.petstore.value;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+import com.example.petstore.json.PetJsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PetValueTest {
+
+    @Test
+    void sharesRecentlyUsedCategoriesAndTags() {
+        assertSame(CategoryValue.of(1L, "Rabbit"), CategoryValue.of(1L, "Rabbit"));
+        assertSame(CategoryValue.of(1L, "Rabbit"), CategoryValue.from(new Category(1L, "Rabbit")));
+        assertNotSame(CategoryValue.of(1L, "Rabbit"), CategoryValue.of(2L, "Rabbit"));
+        assertSame(TagValue.of(1L, "Mammal"), TagValue.from(new Tag("Mammal", 1L)));
+
+        PetValue first = PetValue.builder().name("Miffy").category(1L, "Rabbit").tag(1L, "Mammal").build();
+        PetValue second = PetValue.builder().name("Snowball").category(1L, "Rabbit").tag(1L, "Mammal").build();
+        assertSame(first.category(), second.category());
+        assertSame(first.tags().get(0), second.tags().get(0));
+
+        TagValue mammal = TagValue.of(1L, "Mammal");
+        for (long id = 2; id < 2_000; id++) {
+            TagValue.of(id, "Mammal");
+        }
+        TagValue rebuilt = TagValue.of(1L, "Mammal");
+        assertNotSame(mammal, rebuilt, "distinct tags do not pile up");
+        assertEquals(mammal, rebuilt);
+    }
+
+    @Test
+    void convertsToAndFromBeans() {
+        Pet pet = new Pet(new Category(1L, "Rabbit"), 7L, "Miffy",
+                new ArrayList<>(List.of("url")), "available", new ArrayList<>(Arrays.asList(new Tag("Mammal", 1L), null)));
+
+        PetValue value = PetValue.from(pet);
+        pet.getPhotoUrls().add("changed");
+
+        assertEquals(List.of("url"), value.photoUrls());
+        assertNull(value.tags().get(1));
+        assertThrows(UnsupportedOperationException.class, () -> value.tags().add(null));
+
+        Pet copy = value.toPet();
+        assertEquals(7L, copy.getId());
+        assertEquals("Rabbit", copy.getCategory().getName());
+        assertEquals("Mammal", copy.getTags().get(0).getName());
+        assertEquals(value, PetValue.from(copy));
+        copy.getCategory().setName("changed");
+        assertEquals("Rabbit", CategoryValue.of(1L, "Rabbit").name());
+    }
+
+    @Test
+    void keepsSharedImmutableListsWithoutCopying() {
+        List<TagValue> tags = List.of(TagValue.of(1L, "Mammal"));
+        PetValue value = PetValue.builder().name("Miffy").tags(tags).build();
+        assertSame(tags, value.tags());
+        assertEquals(value, value.toBuilder().build());
+    }
+
+    @Test
+    void serializesLikeTheBean() {
+        PetValue value = PetValue.builder()
+                .id(1L)
+                .category(1L, "Rabbit")
+                .name("Miffy \"🐇\"")
+                .photoUrls(List.of("https://example.com/miffy.png"))
+                .status("available")
+                .tags(Arrays.asList(TagValue.of(1L, "Mammal"), null))
+                .build();
+
+        assertEquals(write(value.toPet()), write(value));
+    }
+
+    private String write(Pet pet) {
+        ByteBuffer buffer = ByteBuffer.allocate(PetJsonWriter.encodedLength(pet));
+        PetJsonWriter.write(pet, buffer);
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+
+    private String write(PetValue pet) {
+        ByteBuffer buffer = ByteBuffer.allocate(PetJsonWriter.encodedLength(pet));
+        PetJsonWriter.write(pet, buffer);
+        assertEquals(buffer.capacity(), buffer.position());
+        return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+}
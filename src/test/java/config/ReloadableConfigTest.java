@@ -0,0 +1,95 @@
+package config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReloadableConfigTest {
+    @TempDir
+    Path directory;
+
+    private Path writeConfig(String contents) throws IOException {
+        Path file = directory.resolve("config.properties");
+        Files.writeString(file, contents);
+        return file;
+    }
+
+    @Test
+    void laterSourcesOverrideEarlierOnes() throws IOException {
+        Path file = writeConfig("a=file\nb=file\nc=file\nd=file\n");
+        System.setProperty("c", "system");
+        try (ReloadableConfig config = new ReloadableConfig(file.toUri().toURL(),
+                Map.of("PETSTORE_B", "env", "PETSTORE_C", "env", "OTHER_D", "ignored"))) {
+            config.override("d", "override");
+
+            ConfigSnapshot snapshot = config.snapshot();
+            assertEquals("file", snapshot.getString("a"));
+            assertEquals("env", snapshot.getString("b"));
+            assertEquals("system", snapshot.getString("c"));
+            assertEquals("override", snapshot.getString("d"));
+            assertEquals("default", snapshot.getString("missing", "default"));
+        } finally {
+            System.clearProperty("c");
+        }
+    }
+
+    @Test
+    void typedAccessorsNameTheBadKey() throws IOException {
+        Path file = writeConfig("rate=fast\nflag=yes\ncount= 12 \n");
+        try (ReloadableConfig config = new ReloadableConfig(file.toUri().toURL(), Map.of())) {
+            ConfigSnapshot snapshot = config.snapshot();
+            assertEquals(12, snapshot.getInt("count", 0));
+            assertEquals(7L, snapshot.getLong("absent", 7L));
+
+            IllegalStateException rate = assertThrows(IllegalStateException.class, () -> snapshot.getDouble("rate", 1));
+            assertTrue(rate.getMessage().contains("'rate'"), rate.getMessage());
+            IllegalStateException flag = assertThrows(IllegalStateException.class, () -> snapshot.getBoolean("flag", false));
+            assertTrue(flag.getMessage().contains("'flag'"), flag.getMessage());
+        }
+    }
+
+    @Test
+    void overridesSurviveReload() throws IOException {
+        Path file = writeConfig("base_url=http://file\n");
+        try (ReloadableConfig config = new ReloadableConfig(file.toUri().toURL(), Map.of())) {
+            config.override("base_url", "http://stub");
+            writeConfig("base_url=http://changed\nextra=1\n");
+            config.reload();
+
+            assertEquals("http://stub", config.snapshot().getString("base_url"));
+            assertEquals(1, config.snapshot().getInt("extra", 0));
+        }
+    }
+
+    @Test
+    void watchReloadsChangedFile() throws IOException, InterruptedException {
+        Path file = writeConfig("load_rate_per_second=100\n");
+        try (ReloadableConfig config = ReloadableConfig.fromFile(file)) {
+            config.watch();
+            long version = config.snapshot().getVersion();
+
+            writeConfig("load_rate_per_second=250\n");
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (config.snapshot().getDouble("load_rate_per_second", 0) != 250
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(250, config.snapshot().getDouble("load_rate_per_second", 0));
+            assertTrue(config.snapshot().getVersion() > version);
+        }
+    }
+
+    @Test
+    void missingFileIsRejected() {
+        assertThrows(IllegalStateException.class, () -> ReloadableConfig.fromFile(directory.resolve("absent.properties")));
+    }
+}
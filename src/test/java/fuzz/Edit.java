@@ -0,0 +1,200 @@
+package fuzz;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One change to a valid payload: set a field to a value, remove a field, or replace the
+ * whole body with raw text. Edits know how to become simpler, which is all the shrinker
+ * needs.
+ */
+public final class Edit {
+    enum Kind {
+        SET, REMOVE, BODY
+    }
+
+    private final Kind kind;
+    private final List<Object> path;
+    private final JsonElement value;
+    private final String body;
+
+    private Edit(Kind kind, List<Object> path, JsonElement value, String body) {
+        this.kind = kind;
+        this.path = path;
+        this.value = value;
+        this.body = body;
+    }
+
+    /**
+     * @param path object keys ({@code String}) and array indexes ({@code Integer})
+     */
+    public static Edit set(List<Object> path, JsonElement value) {
+        return new Edit(Kind.SET, List.copyOf(path), value, null);
+    }
+
+    public static Edit remove(List<Object> path) {
+        return new Edit(Kind.REMOVE, List.copyOf(path), null, null);
+    }
+
+    public static Edit body(String body) {
+        return new Edit(Kind.BODY, List.of(), null, body);
+    }
+
+    boolean replacesBody() {
+        return kind == Kind.BODY;
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    /**
+     * Applies the edit to {@code root} in place. A path that no longer exists, because
+     * an earlier edit removed its parent, is skipped.
+     */
+    void apply(JsonElement root) {
+        if (kind == Kind.BODY || path.isEmpty()) {
+            return;
+        }
+        JsonElement parent = root;
+        for (int i = 0; i < path.size() - 1; i++) {
+            parent = child(parent, path.get(i));
+            if (parent == null) {
+                return;
+            }
+        }
+        Object last = path.get(path.size() - 1);
+        if (parent.isJsonObject() && last instanceof String) {
+            if (kind == Kind.SET) {
+                parent.getAsJsonObject().add((String) last, value.deepCopy());
+            } else {
+                parent.getAsJsonObject().remove((String) last);
+            }
+        } else if (parent.isJsonArray() && last instanceof Integer && (Integer) last < parent.getAsJsonArray().size()) {
+            if (kind == Kind.SET) {
+                parent.getAsJsonArray().set((Integer) last, value.deepCopy());
+            } else {
+                parent.getAsJsonArray().remove((int) (Integer) last);
+            }
+        }
+    }
+
+    /**
+     * Simpler versions of this edit, most aggressive first.
+     */
+    List<Edit> shrink() {
+        List<Edit> candidates = new ArrayList<>();
+        if (kind == Kind.BODY) {
+            for (String smaller : shrinkString(body)) {
+                candidates.add(body(smaller));
+            }
+        } else if (kind == Kind.SET) {
+            for (JsonElement smaller : shrinkValue(value)) {
+                candidates.add(set(path, smaller));
+            }
+        }
+        return candidates;
+    }
+
+    private static JsonElement child(JsonElement parent, Object key) {
+        if (parent.isJsonObject() && key instanceof String) {
+            return parent.getAsJsonObject().get((String) key);
+        }
+        if (parent.isJsonArray() && key instanceof Integer && (Integer) key < parent.getAsJsonArray().size()) {
+            return parent.getAsJsonArray().get((Integer) key);
+        }
+        return null;
+    }
+
+    private static List<JsonElement> shrinkValue(JsonElement value) {
+        List<JsonElement> candidates = new ArrayList<>();
+        if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isString()) {
+            for (String smaller : shrinkString(value.getAsString())) {
+                candidates.add(new JsonPrimitive(smaller));
+            }
+        } else if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()) {
+            BigDecimal number = value.getAsBigDecimal();
+            if (number.signum() != 0) {
+                candidates.add(new JsonPrimitive(0));
+                BigDecimal truncated = new BigDecimal(number.toBigInteger());
+                if (truncated.compareTo(number) != 0) {
+                    candidates.add(new JsonPrimitive(truncated.toBigInteger()));
+                }
+                if (truncated.abs().compareTo(BigDecimal.ONE) > 0) {
+                    candidates.add(new JsonPrimitive(truncated.toBigInteger().shiftRight(1)));
+                }
+            }
+        } else if (value.isJsonArray()) {
+            JsonArray array = value.getAsJsonArray();
+            if (array.size() > 0) {
+                candidates.add(new JsonArray());
+                candidates.add(slice(array, 0, array.size() / 2));
+                candidates.add(slice(array, 1, array.size()));
+                candidates.add(slice(array, 0, array.size() - 1));
+            }
+        } else if (value.isJsonObject()) {
+            JsonObject object = value.getAsJsonObject();
+            if (object.size() > 0) {
+                candidates.add(new JsonObject());
+                for (String key : object.keySet()) {
+                    JsonObject without = object.deepCopy();
+                    without.remove(key);
+                    candidates.add(without);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static List<String> shrinkString(String value) {
+        List<String> candidates = new ArrayList<>();
+        if (value.isEmpty()) {
+            return candidates;
+        }
+        candidates.add("");
+        int half = value.offsetByCodePoints(0, value.codePointCount(0, value.length()) / 2);
+        candidates.add(value.substring(0, half));
+        candidates.add(value.substring(half));
+        candidates.add(value.substring(0, value.offsetByCodePoints(value.length(), -1)));
+        return candidates;
+    }
+
+    private static JsonArray slice(JsonArray array, int from, int to) {
+        JsonArray slice = new JsonArray();
+        for (int i = from; i < to; i++) {
+            slice.add(array.get(i).deepCopy());
+        }
+        return slice;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case SET:
+                String text = value.toString();
+                return "set " + pathString() + " = " + (text.length() > 80 ? text.substring(0, 77) + "... (" + text.length() + " chars)" : text);
+            case REMOVE:
+                return "remove " + pathString();
+            default:
+                return "body " + (body.length() > 80 ? body.substring(0, 77) + "... (" + body.length() + " chars)" : body);
+        }
+    }
+
+    private String pathString() {
+        StringBuilder text = new StringBuilder();
+        for (Object key : path) {
+            if (key instanceof Integer) {
+                text.append('[').append(key).append(']');
+            } else {
+                text.append(text.length() == 0 ? "" : ".").append(key);
+            }
+        }
+        return text.toString();
+    }
+}
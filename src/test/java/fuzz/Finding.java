@@ -0,0 +1,20 @@
+package fuzz;
+
+/**
+ * A contract violation, with the case that first hit it and the smallest case found
+ * that still does.
+ */
+public record Finding(ResponseContract.Violation violation, FuzzCase original, FuzzCase shrunk, int shrinkAttempts) {
+    /**
+     * The shrunk request, ready to paste into curl or an HTTP client.
+     */
+    public String reproducer() {
+        return shrunk.getMethod() + " /pet\n" + shrunk.body();
+    }
+
+    @Override
+    public String toString() {
+        return violation + "\n  found by " + original + "\n  shrunk in " + shrinkAttempts + " attempts to " + shrunk.getEdits()
+                + "\n  reproducer: " + reproducer().replace("\n", " ");
+    }
+}
@@ -0,0 +1,79 @@
+package fuzz;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.List;
+
+/**
+ * A request built by applying {@link Edit}s to a valid payload. Cases are generated from
+ * a seed and an index, so any case can be regenerated from those two numbers.
+ */
+public final class FuzzCase {
+    private final long index;
+    private final String method;
+    private final JsonObject base;
+    private final List<Edit> edits;
+
+    FuzzCase(long index, String method, JsonObject base, List<Edit> edits) {
+        this.index = index;
+        this.method = method;
+        this.base = base;
+        this.edits = List.copyOf(edits);
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public List<Edit> getEdits() {
+        return edits;
+    }
+
+    FuzzCase withEdits(List<Edit> edits) {
+        return new FuzzCase(index, method, base, edits);
+    }
+
+    /**
+     * @return the payload as a JSON tree, or {@code null} when an edit replaced the body
+     * with raw text
+     */
+    public JsonElement json() {
+        for (Edit edit : edits) {
+            if (edit.replacesBody()) {
+                return null;
+            }
+        }
+        JsonElement root = base.deepCopy();
+        for (Edit edit : edits) {
+            edit.apply(root);
+        }
+        return root;
+    }
+
+    public String body() {
+        String body = null;
+        for (Edit edit : edits) {
+            if (edit.replacesBody()) {
+                body = edit.getBody();
+            }
+        }
+        return body != null ? body : json().toString();
+    }
+
+    /**
+     * Size used to tell whether shrinking made progress.
+     */
+    int weight() {
+        return edits.size() * 1_000_000 + body().length();
+    }
+
+    @Override
+    public String toString() {
+        return "case #" + index + " " + method + " /pet " + edits;
+    }
+}
@@ -0,0 +1,187 @@
+package fuzz;
+
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Sends generated {@link FuzzCase}s from a pool of workers, checks every response
+ * against a {@link ResponseContract}, and shrinks the first case of each kind of
+ * violation to a minimal reproducer.
+ * <p>
+ * Case {@code i} depends only on the seed and {@code i}, so a run is reproducible
+ * however the cases are spread over the workers. A case that throws instead of
+ * returning a verdict stops the run and fails it. Shrinking is greedy: drop edits, then
+ * simplify the values that remain, keeping any change after which the same kind of
+ * violation still occurs.
+ */
+public class FuzzEngine {
+    private static final Logger logger = LoggerFactory.getLogger(FuzzEngine.class);
+    private static final String[] METHODS = {"POST", "PUT"};
+
+    private final FuzzTarget target;
+    private final Mutator mutator;
+    private final ResponseContract contract;
+    private final LongFunction<JsonObject> baseForCase;
+    private final int workers;
+    private final long seed;
+    private final int maxFindings;
+    private final int shrinkAttempts;
+
+    /**
+     * @param baseForCase the valid payload that case {@code i} mutates
+     * @param maxFindings number of distinct violation kinds to collect and shrink
+     * @param shrinkAttempts requests each shrink may send
+     */
+    public FuzzEngine(FuzzTarget target, Schema schema, ResponseContract contract, LongFunction<JsonObject> baseForCase,
+                      int workers, long seed, int maxFindings, int shrinkAttempts) {
+        this.target = target;
+        this.mutator = new Mutator(schema);
+        this.contract = contract;
+        this.baseForCase = baseForCase;
+        this.workers = workers;
+        this.seed = seed;
+        this.maxFindings = maxFindings;
+        this.shrinkAttempts = shrinkAttempts;
+    }
+
+    public FuzzCase generate(long index) {
+        return mutator.generate(index, seed, METHODS[(int) (index & 1)], baseForCase.apply(index));
+    }
+
+    /**
+     * @throws IllegalStateException if generating, sending or checking a case threw; the
+     * other workers stop after their current case
+     */
+    public FuzzReport run(long cases) throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        LongAdder completed = new LongAdder();
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        LongAdder transportErrors = new LongAdder();
+        Map<String, FuzzCase> firstByKind = new ConcurrentHashMap<>();
+        Map<String, ResponseContract.Violation> violations = new ConcurrentHashMap<>();
+
+        logger.info("Fuzzing {} cases with {} workers, seed {}", cases, workers, seed);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "fuzz-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            running.add(pool.submit(() -> {
+                long index;
+                while ((index = next.getAndIncrement()) < cases) {
+                    try {
+                        FuzzCase fuzzCase = generate(index);
+                        FuzzResponse response = target.send(fuzzCase.getMethod(), fuzzCase.body());
+                        if (response.error() != null) {
+                            transportErrors.increment();
+                        } else {
+                            statusCounts.computeIfAbsent(response.statusCode(), code -> new LongAdder()).increment();
+                        }
+                        ResponseContract.Violation violation = contract.check(fuzzCase.json(), response);
+                        if (violation != null && (firstByKind.containsKey(violation.kind()) || firstByKind.size() < maxFindings)) {
+                            if (firstByKind.putIfAbsent(violation.kind(), fuzzCase) == null) {
+                                violations.put(violation.kind(), violation);
+                                logger.warn("{} violates the contract: {}", fuzzCase, violation);
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        next.set(cases);
+                        throw new IllegalStateException("Fuzz case " + index + " threw " + e, e);
+                    }
+                    completed.increment();
+                }
+            }));
+        }
+        pool.shutdown();
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> worker : running) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (!failures.isEmpty()) {
+            IllegalStateException failure = new IllegalStateException(
+                    "Fuzzing stopped after " + completed.sum() + " of " + cases + " cases", failures.get(0));
+            failures.subList(1, failures.size()).forEach(failure::addSuppressed);
+            throw failure;
+        }
+
+        List<Finding> findings = new ArrayList<>();
+        firstByKind.forEach((kind, fuzzCase) -> findings.add(shrink(violations.get(kind), fuzzCase)));
+        findings.sort((a, b) -> Long.compare(a.original().getIndex(), b.original().getIndex()));
+
+        Map<Integer, Long> counts = new HashMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        FuzzReport report = new FuzzReport(completed.sum(), elapsed, counts, transportErrors.sum(), findings);
+        logger.info(report.summary());
+        return report;
+    }
+
+    Finding shrink(ResponseContract.Violation violation, FuzzCase original) {
+        FuzzCase current = original;
+        ResponseContract.Violation currentViolation = violation;
+        int attempts = 0;
+        boolean progress = true;
+        while (progress && attempts < shrinkAttempts) {
+            progress = false;
+            for (FuzzCase candidate : candidates(current)) {
+                if (attempts >= shrinkAttempts) {
+                    break;
+                }
+                if (candidate.weight() >= current.weight()) {
+                    continue;
+                }
+                attempts++;
+                ResponseContract.Violation candidateViolation = contract.check(candidate.json(),
+                        target.send(candidate.getMethod(), candidate.body()));
+                if (candidateViolation != null && candidateViolation.kind().equals(violation.kind())) {
+                    current = candidate;
+                    currentViolation = candidateViolation;
+                    progress = true;
+                    break;
+                }
+            }
+        }
+        return new Finding(currentViolation, original, current, attempts);
+    }
+
+    private static List<FuzzCase> candidates(FuzzCase fuzzCase) {
+        List<Edit> edits = fuzzCase.getEdits();
+        List<FuzzCase> candidates = new ArrayList<>();
+        if (edits.size() > 1) {
+            for (int i = 0; i < edits.size(); i++) {
+                List<Edit> fewer = new ArrayList<>(edits);
+                fewer.remove(i);
+                candidates.add(fuzzCase.withEdits(fewer));
+            }
+        }
+        for (int i = 0; i < edits.size(); i++) {
+            for (Edit simpler : edits.get(i).shrink()) {
+                List<Edit> replaced = new ArrayList<>(edits);
+                replaced.set(i, simpler);
+                candidates.add(fuzzCase.withEdits(replaced));
+            }
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,107 @@
+package fuzz;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FuzzEngineTest {
+    private static final Gson gson = new Gson();
+    private static final Schema PET = Schema.of(Pet.class).withEnum("status", "available", "pending", "sold");
+
+    private static JsonObject base(long index) {
+        Pet pet = new Pet(new Category(1L, "Rabbit"), index + 1, "Miffy", List.of("https://example.com/miffy.png"),
+                "available", List.of(new Tag("Mammal", 1L)));
+        return gson.toJsonTree(pet).getAsJsonObject();
+    }
+
+    /**
+     * Stands in for the API: stores any JSON object it is given and echoes it back, but
+     * fails with a 500 when the name is longer than {@code maxName} characters.
+     */
+    private static FuzzTarget server(int maxName) {
+        AtomicLong ids = new AtomicLong(1_000);
+        return (method, body) -> {
+            JsonElement parsed;
+            try {
+                parsed = JsonParser.parseString(body);
+            } catch (JsonParseException e) {
+                parsed = null;
+            }
+            if (parsed == null || !parsed.isJsonObject()) {
+                return new FuzzResponse(400, "application/json", "{\"code\":400,\"type\":\"unknown\"}", null);
+            }
+            JsonObject pet = parsed.getAsJsonObject();
+            JsonElement name = pet.get("name");
+            if (name != null && name.isJsonPrimitive() && name.getAsJsonPrimitive().isString() && name.getAsString().length() > maxName) {
+                return new FuzzResponse(500, "application/json", "{\"code\":500,\"type\":\"unknown\",\"message\":\"something bad happened\"}", null);
+            }
+            JsonElement id = pet.get("id");
+            if (id == null || !id.isJsonPrimitive() || !id.getAsJsonPrimitive().isNumber() || id.getAsBigDecimal().signum() <= 0) {
+                pet.addProperty("id", ids.getAndIncrement());
+            }
+            return new FuzzResponse(200, "application/json", pet.toString(), null);
+        };
+    }
+
+    @Test
+    void casesAreReproducibleFromSeedAndIndex() {
+        FuzzEngine first = new FuzzEngine(server(100), PET, new ResponseContract(PET), FuzzEngineTest::base, 1, 7, 5, 100);
+        FuzzEngine second = new FuzzEngine(server(100), PET, new ResponseContract(PET), FuzzEngineTest::base, 1, 7, 5, 100);
+
+        for (long index = 0; index < 200; index++) {
+            assertEquals(first.generate(index).body(), second.generate(index).body());
+        }
+    }
+
+    @Test
+    void findsAndShrinksViolation() throws InterruptedException {
+        FuzzEngine engine = new FuzzEngine(server(100), PET, new ResponseContract(PET), FuzzEngineTest::base, 4, 42, 5, 2_000);
+
+        FuzzReport report = engine.run(3_000);
+
+        assertEquals(3_000, report.getCases());
+        assertTrue(report.getCasesPerSecond() > 0);
+        assertEquals(1, report.getFindings().size(), report.getFindings().toString());
+        Finding finding = report.getFindings().get(0);
+        assertEquals("status 500", finding.violation().kind());
+        assertEquals(1, finding.shrunk().getEdits().size(), finding.toString());
+        assertEquals(101, finding.shrunk().json().getAsJsonObject().get("name").getAsString().length(), finding.toString());
+    }
+
+    @Test
+    void conformingServerHasNoFindings() throws InterruptedException {
+        FuzzEngine engine = new FuzzEngine(server(Integer.MAX_VALUE), PET, new ResponseContract(PET), FuzzEngineTest::base, 4, 42, 5, 100);
+
+        FuzzReport report = engine.run(2_000);
+
+        assertTrue(report.getFindings().isEmpty(), report.getFindings().toString());
+        assertEquals(0, report.getTransportErrors());
+    }
+
+    @Test
+    void caseThatThrowsFailsTheRun() {
+        FuzzEngine engine = new FuzzEngine(server(Integer.MAX_VALUE), PET, new ResponseContract(PET), index -> {
+            if (index == 500) {
+                throw new IllegalArgumentException("no base payload");
+            }
+            return base(index);
+        }, 4, 42, 5, 100);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> engine.run(2_000));
+        assertTrue(failure.getCause().getMessage().contains("Fuzz case 500"), failure.getCause().getMessage());
+        assertTrue(failure.getCause().getCause() instanceof IllegalArgumentException);
+    }
+}
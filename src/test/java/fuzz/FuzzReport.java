@@ -0,0 +1,59 @@
+package fuzz;
+
+import utils.ReportNode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a fuzz run. Cases per second is the headline number: it decides how much of
+ * the payload space a run of a given length can cover.
+ */
+public class FuzzReport {
+    private final long cases;
+    private final long elapsedNanos;
+    private final Map<Integer, Long> statusCounts;
+    private final long transportErrors;
+    private final List<Finding> findings;
+
+    FuzzReport(long cases, long elapsedNanos, Map<Integer, Long> statusCounts, long transportErrors, List<Finding> findings) {
+        this.cases = cases;
+        this.elapsedNanos = elapsedNanos;
+        this.statusCounts = new TreeMap<>(statusCounts);
+        this.transportErrors = transportErrors;
+        this.findings = List.copyOf(findings);
+    }
+
+    public long getCases() {
+        return cases;
+    }
+
+    public double getCasesPerSecond() {
+        return elapsedNanos == 0 ? 0 : cases / (elapsedNanos / 1e9);
+    }
+
+    public Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public long getTransportErrors() {
+        return transportErrors;
+    }
+
+    public List<Finding> getFindings() {
+        return findings;
+    }
+
+    public String summary() {
+        return String.format("%d cases in %.1f s, %.0f cases/s, status codes %s, %d transport errors, %d contract violations",
+                cases, elapsedNanos / 1e9, getCasesPerSecond(), statusCounts, transportErrors, findings.size());
+    }
+
+    public void logTo(ReportNode node) {
+        node.info(summary());
+        for (Finding finding : findings) {
+            node.fail(finding.toString());
+        }
+    }
+}
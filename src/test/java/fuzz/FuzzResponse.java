@@ -0,0 +1,11 @@
+package fuzz;
+
+/**
+ * What came back for a fuzz case. {@code error} is set, and the other fields are not,
+ * when no response arrived at all.
+ */
+public record FuzzResponse(int statusCode, String contentType, String body, Exception error) {
+    public static FuzzResponse failed(Exception error) {
+        return new FuzzResponse(-1, null, null, error);
+    }
+}
@@ -0,0 +1,9 @@
+package fuzz;
+
+/**
+ * Where fuzz cases are sent. Must be safe to call from many threads at once.
+ */
+@FunctionalInterface
+public interface FuzzTarget {
+    FuzzResponse send(String method, String body);
+}
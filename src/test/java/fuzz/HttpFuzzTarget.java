@@ -0,0 +1,67 @@
+package fuzz;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import utils.PetIds;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Sends fuzz cases to {@code POST /pet} and {@code PUT /pet} with
+ * {@link HttpClient}, which costs far less per request than RestAssured. Pets the
+ * server accepts are recorded in {@link PetIds#tracker()} under the id it echoes back.
+ */
+public class HttpFuzzTarget implements FuzzTarget {
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final URI petUri;
+    private final String apiKey;
+
+    public HttpFuzzTarget(String baseUrl, String apiKey) {
+        this.petUri = URI.create(baseUrl + "/pet");
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public FuzzResponse send(String method, String body) {
+        HttpRequest request = HttpRequest.newBuilder(petUri)
+                .timeout(Duration.ofSeconds(30))
+                .header("api_key", apiKey)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                trackWrite(response.body());
+            }
+            return new FuzzResponse(response.statusCode(), response.headers().firstValue("Content-Type").orElse(null),
+                    response.body(), null);
+        } catch (IOException e) {
+            return FuzzResponse.failed(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return FuzzResponse.failed(e);
+        }
+    }
+
+    private static void trackWrite(String body) {
+        try {
+            JsonElement pet = JsonParser.parseString(body);
+            if (pet.isJsonObject() && pet.getAsJsonObject().get("id") instanceof JsonPrimitive id && id.isNumber()) {
+                PetIds.tracker().created(id.getAsLong());
+            }
+        } catch (JsonParseException | NumberFormatException e) {
+            // The contract check reports bodies that are not a pet.
+        }
+    }
+}
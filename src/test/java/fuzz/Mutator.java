@@ -0,0 +1,228 @@
+package fuzz;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates {@link FuzzCase}s from a {@link Schema}. Each case changes one to three
+ * places of a valid payload: a field gets a boundary value of its own type, a value of
+ * another type, or disappears; the body as a whole may be replaced with malformed JSON.
+ */
+public class Mutator {
+    private static final String[] STRINGS = {
+            "", " ", "   padded   ", "null", "0", "-1", "true", "{}", "[]",
+            "<script>alert(1)</script>", "' OR '1'='1", "../../etc/passwd", "%00", "\u0000", "\t\n\r",
+            "\u00dcn\u00efc\u00f6d\u00e9", "\ud83d\udc30", "\u202eevil", "\ufeffbom", "\\", "\"",
+            "http://", "ftp://example.com/pet.png", "data:image/png;base64,AAAA", "${jndi:ldap://x}"};
+    private static final String[] MALFORMED_BODIES = {
+            "", " ", "null", "[]", "{}", "[{}]", "123", "\"pet\"", "true", "{", "}", "{\"name\":}", "{\"name\" \"Miffy\"}",
+            "{\"name\":\"Miffy\",}", "{'name':'Miffy'}", "{name:Miffy}", "{\"name\":\"Miffy\"}{\"name\":\"Miffy\"}"};
+
+    private final Schema schema;
+
+    public Mutator(Schema schema) {
+        this.schema = schema;
+    }
+
+    public FuzzCase generate(long index, long seed, String method, JsonObject base) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        List<Target> targets = new ArrayList<>();
+        collect(base, schema, new ArrayList<>(), targets);
+
+        List<Edit> edits = new ArrayList<>();
+        if (random.nextInt(20) == 0) {
+            edits.add(random.nextBoolean()
+                    ? Edit.body(MALFORMED_BODIES[random.nextInt(MALFORMED_BODIES.length)])
+                    : Edit.body(truncate(base.toString(), random)));
+        } else {
+            int count = 1 + random.nextInt(3);
+            for (int i = 0; i < count; i++) {
+                Target target = targets.get(random.nextInt(targets.size()));
+                edits.add(random.nextInt(8) == 0 ? Edit.remove(target.path) : Edit.set(target.path, value(target.schema, random)));
+            }
+        }
+        return new FuzzCase(index, method, base, edits);
+    }
+
+    private static String truncate(String json, SplittableRandom random) {
+        return json.substring(0, random.nextInt(json.length()));
+    }
+
+    /**
+     * Every field of {@code value} that the schema describes, including array elements.
+     */
+    private static void collect(JsonElement value, Schema schema, List<Object> path, List<Target> targets) {
+        if (!path.isEmpty()) {
+            targets.add(new Target(List.copyOf(path), schema));
+        }
+        if (schema.getKind() == Schema.Kind.OBJECT) {
+            JsonObject object = value != null && value.isJsonObject() ? value.getAsJsonObject() : new JsonObject();
+            schema.getFields().forEach((name, field) -> {
+                path.add(name);
+                collect(object.get(name), field, path, targets);
+                path.remove(path.size() - 1);
+            });
+        } else if (schema.getKind() == Schema.Kind.ARRAY && value != null && value.isJsonArray()) {
+            JsonArray array = value.getAsJsonArray();
+            for (int i = 0; i < array.size(); i++) {
+                path.add(i);
+                collect(array.get(i), schema.getItems(), path, targets);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private static JsonElement value(Schema schema, SplittableRandom random) {
+        if (random.nextInt(4) == 0) {
+            return wrongType(schema.getKind(), random);
+        }
+        switch (schema.getKind()) {
+            case INT64:
+                return int64(random);
+            case STRING:
+                return string(schema, random);
+            case ARRAY:
+                return array(schema.getItems(), random);
+            default:
+                return object(schema, random);
+        }
+    }
+
+    private static JsonElement int64(SplittableRandom random) {
+        switch (random.nextInt(10)) {
+            case 0:
+                return new JsonPrimitive(0);
+            case 1:
+                return new JsonPrimitive(-1);
+            case 2:
+                return new JsonPrimitive(Long.MAX_VALUE);
+            case 3:
+                return new JsonPrimitive(Long.MIN_VALUE);
+            case 4:
+                return new JsonPrimitive(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE));
+            case 5:
+                return new JsonPrimitive(1.5);
+            case 6:
+                return new JsonPrimitive(1e300);
+            case 7:
+                return new JsonPrimitive(Integer.MAX_VALUE + 1L);
+            default:
+                return new JsonPrimitive(random.nextLong());
+        }
+    }
+
+    private static JsonElement string(Schema schema, SplittableRandom random) {
+        List<String> allowed = schema.getAllowedValues();
+        if (!allowed.isEmpty() && random.nextInt(3) == 0) {
+            String valid = allowed.get(random.nextInt(allowed.size()));
+            String[] variants = {valid.toUpperCase(), " " + valid, valid + " ", valid.substring(0, valid.length() - 1), valid + valid};
+            return new JsonPrimitive(variants[random.nextInt(variants.length)]);
+        }
+        switch (random.nextInt(6)) {
+            case 0:
+                return new JsonPrimitive("x".repeat(256 + random.nextInt(10_000)));
+            case 1:
+                StringBuilder noise = new StringBuilder();
+                int length = 1 + random.nextInt(64);
+                for (int i = 0; i < length; i++) {
+                    int codePoint;
+                    do {
+                        codePoint = random.nextInt(0x30000);
+                    } while (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE);
+                    noise.appendCodePoint(codePoint);
+                }
+                return new JsonPrimitive(noise.toString());
+            default:
+                return new JsonPrimitive(STRINGS[random.nextInt(STRINGS.length)]);
+        }
+    }
+
+    private static JsonElement array(Schema items, SplittableRandom random) {
+        JsonArray array = new JsonArray();
+        if (random.nextInt(4) == 0) {
+            // Long arrays test size limits, so they repeat one small item rather than
+            // multiplying a 10,000 character string.
+            JsonElement item = small(items);
+            int size = 500 + random.nextInt(1000);
+            for (int i = 0; i < size; i++) {
+                array.add(item);
+            }
+            return array;
+        }
+        int size = random.nextInt(4);
+        for (int i = 0; i < size; i++) {
+            array.add(value(items, random));
+        }
+        return array;
+    }
+
+    private static JsonElement small(Schema schema) {
+        switch (schema.getKind()) {
+            case INT64:
+                return new JsonPrimitive(1);
+            case STRING:
+                return new JsonPrimitive(schema.getAllowedValues().isEmpty() ? "x" : schema.getAllowedValues().get(0));
+            case ARRAY:
+                return new JsonArray();
+            default:
+                JsonObject object = new JsonObject();
+                schema.getFields().forEach((name, field) -> {
+                    if (field.getKind() != Schema.Kind.OBJECT && field.getKind() != Schema.Kind.ARRAY) {
+                        object.add(name, small(field));
+                    }
+                });
+                return object;
+        }
+    }
+
+    private static JsonElement object(Schema schema, SplittableRandom random) {
+        JsonObject object = new JsonObject();
+        schema.getFields().forEach((name, field) -> {
+            if (random.nextBoolean()) {
+                object.add(name, value(field, random));
+            }
+        });
+        if (random.nextInt(4) == 0) {
+            object.addProperty("unexpected" + random.nextInt(100), "field");
+        }
+        return object;
+    }
+
+    private static JsonElement wrongType(Schema.Kind kind, SplittableRandom random) {
+        List<JsonElement> choices = new ArrayList<>();
+        choices.add(JsonNull.INSTANCE);
+        choices.add(new JsonPrimitive(random.nextBoolean()));
+        if (kind != Schema.Kind.INT64) {
+            choices.add(new JsonPrimitive(random.nextInt(1000)));
+        }
+        if (kind != Schema.Kind.STRING) {
+            choices.add(new JsonPrimitive("123"));
+            choices.add(new JsonPrimitive("not a " + kind.name().toLowerCase()));
+        }
+        if (kind != Schema.Kind.ARRAY) {
+            choices.add(new JsonArray());
+        }
+        if (kind != Schema.Kind.OBJECT) {
+            choices.add(new JsonObject());
+        }
+        return choices.get(random.nextInt(choices.size()));
+    }
+
+    private static final class Target {
+        private final List<Object> path;
+        private final Schema schema;
+
+        Target(List<Object> path, Schema schema) {
+            this.path = path;
+            this.schema = schema;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package fuzz;
+
+import com.example.petstore.dto.Pet;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import utils.ExtentReportUtil;
+import utils.PetIds;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+import utils.TestPets;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fuzzes {@code POST /pet} and {@code PUT /pet} with payloads derived from the
+ * {@link Pet} schema, against the stub server or the configured {@code base_url}.
+ */
+@org.junit.jupiter.api.Tag("fuzz")
+@ExtendWith(PetStoreStubExtension.class)
+public class PetPayloadFuzzTest {
+    private static final Gson gson = new Gson();
+    private static final Schema PET = Schema.of(Pet.class).withEnum("status", "available", "pending", "sold");
+
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    private static JsonObject base(long id) {
+        Pet pet = TestPets.pet(id)
+                .photoUrls(List.of("https://example.com/miffy.png"))
+                .build()
+                .toPet();
+        return gson.toJsonTree(pet).getAsJsonObject();
+    }
+
+    @Test
+    void petPayloadsKeepTheResponseContract() throws InterruptedException {
+        ReportNode test = ExtentReportUtil.createTest("Pet Payload Fuzz Test");
+        long cases = ConfigReader.getFuzzCases();
+        long firstId = PetIds.lease(Math.toIntExact(cases));
+        FuzzEngine engine = new FuzzEngine(
+                new HttpFuzzTarget(ConfigReader.getBaseUrl(), ConfigReader.getApiKey()),
+                PET,
+                new ResponseContract(PET),
+                index -> base(firstId + index),
+                ConfigReader.getFuzzWorkers(),
+                ConfigReader.getFuzzSeed(),
+                ConfigReader.getFuzzMaxFindings(),
+                ConfigReader.getFuzzShrinkAttempts());
+
+        FuzzReport report = engine.run(cases);
+
+        report.logTo(test);
+        assertTrue(report.getFindings().isEmpty(), "Contract violations:\n" + report.getFindings());
+    }
+}
@@ -0,0 +1,119 @@
+package fuzz;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What the Petstore API promises for any {@code POST}/{@code PUT /pet}, however bad the
+ * payload:
+ * <ul>
+ *     <li>{@code transport}: a response arrives.</li>
+ *     <li>{@code status}: the status is one the API documents (200, 400, 404, 405), so
+ *     never a 5xx.</li>
+ *     <li>{@code json}: the body is a JSON object sent as {@code application/json}.</li>
+ *     <li>{@code error-shape}: an error body has a numeric {@code code} and a string
+ *     {@code type}.</li>
+ *     <li>{@code echo}: a 200 body is the stored pet, with a numeric id, the requested id
+ *     if it was a positive number, and every top-level string field of the schema as
+ *     sent.</li>
+ * </ul>
+ */
+public class ResponseContract {
+    private static final Set<Integer> DOCUMENTED_STATUSES = Set.of(200, 400, 404, 405);
+
+    private final Schema schema;
+
+    public ResponseContract(Schema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * A broken promise. Two violations with the same {@link #kind()} are taken to be the
+     * same bug, which is what the shrinker holds constant.
+     */
+    public record Violation(String rule, String kind, String detail) {
+        @Override
+        public String toString() {
+            return rule + ": " + detail;
+        }
+    }
+
+    /**
+     * @param request the payload as sent, or {@code null} if it was not valid JSON
+     * @return the first broken rule, or {@code null}
+     */
+    public Violation check(JsonElement request, FuzzResponse response) {
+        if (response.error() != null) {
+            String type = response.error().getClass().getSimpleName();
+            return new Violation("transport", "transport " + type, type + ": " + response.error().getMessage());
+        }
+        int status = response.statusCode();
+        if (!DOCUMENTED_STATUSES.contains(status)) {
+            return new Violation("status", "status " + status, "undocumented status " + status + ", body " + abbreviate(response.body()));
+        }
+        if (response.contentType() == null || !response.contentType().startsWith("application/json")) {
+            return new Violation("json", "json content type", "Content-Type " + response.contentType());
+        }
+        JsonObject body;
+        try {
+            JsonElement parsed = JsonParser.parseString(response.body());
+            if (!parsed.isJsonObject()) {
+                return new Violation("json", "json not an object", "body is not a JSON object: " + abbreviate(response.body()));
+            }
+            body = parsed.getAsJsonObject();
+        } catch (JsonParseException e) {
+            return new Violation("json", "json malformed", "body is not valid JSON: " + abbreviate(response.body()));
+        }
+
+        if (status != 200) {
+            if (!isNumber(body.get("code")) || !isString(body.get("type"))) {
+                return new Violation("error-shape", "error-shape " + status, "error body without code and type: " + abbreviate(response.body()));
+            }
+            return null;
+        }
+        if (!isNumber(body.get("id"))) {
+            return new Violation("echo", "echo id missing", "stored pet has no numeric id: " + abbreviate(response.body()));
+        }
+        if (request == null || !request.isJsonObject()) {
+            return null;
+        }
+        JsonObject sent = request.getAsJsonObject();
+        JsonElement sentId = sent.get("id");
+        if (isNumber(sentId) && sentId.getAsBigDecimal().signum() > 0
+                && sentId.getAsBigDecimal().compareTo(body.get("id").getAsBigDecimal()) != 0) {
+            return new Violation("echo", "echo id", "sent id " + sentId + ", stored id " + body.get("id"));
+        }
+        for (Map.Entry<String, Schema> field : schema.getFields().entrySet()) {
+            if (field.getValue().getKind() != Schema.Kind.STRING) {
+                continue;
+            }
+            JsonElement value = sent.get(field.getKey());
+            if (isString(value) && !value.equals(body.get(field.getKey()))) {
+                return new Violation("echo", "echo " + field.getKey(), "sent " + field.getKey() + " " + abbreviate(value.toString())
+                        + ", stored " + abbreviate(String.valueOf(body.get(field.getKey()))));
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNumber(JsonElement value) {
+        return value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber();
+    }
+
+    private static boolean isString(JsonElement value) {
+        return value != null && value.isJsonPrimitive() && ((JsonPrimitive) value).isString();
+    }
+
+    private static String abbreviate(String text) {
+        if (text == null) {
+            return "null";
+        }
+        return text.length() > 200 ? text.substring(0, 197) + "..." : text;
+    }
+}
@@ -0,0 +1,99 @@
+package fuzz;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shape of a JSON payload, as far as the fuzzer needs it: which fields exist, what
+ * type each has and, for enumerations, which values are valid. {@link #of(Class)} reads
+ * it from a DTO, so new fields on {@code Pet}, {@code Category} or {@code Tag} are fuzzed
+ * without touching the fuzzer.
+ */
+public final class Schema {
+    public enum Kind {
+        OBJECT, ARRAY, STRING, INT64
+    }
+
+    private final Kind kind;
+    private final Map<String, Schema> fields;
+    private final Schema items;
+    private final List<String> allowedValues;
+
+    private Schema(Kind kind, Map<String, Schema> fields, Schema items, List<String> allowedValues) {
+        this.kind = kind;
+        this.fields = fields;
+        this.items = items;
+        this.allowedValues = allowedValues;
+    }
+
+    /**
+     * Derives the schema of a DTO from its instance fields: {@code Long} is an int64,
+     * {@code String} a string, {@code List<T>} an array of {@code T}, and any other class
+     * a nested object.
+     */
+    public static Schema of(Class<?> type) {
+        Map<String, Schema> fields = new LinkedHashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                fields.put(field.getName(), of(field.getGenericType()));
+            }
+        }
+        return new Schema(Kind.OBJECT, Collections.unmodifiableMap(fields), null, List.of());
+    }
+
+    private static Schema of(Type type) {
+        if (type == Long.class || type == long.class || type == Integer.class || type == int.class) {
+            return new Schema(Kind.INT64, Map.of(), null, List.of());
+        }
+        if (type == String.class) {
+            return new Schema(Kind.STRING, Map.of(), null, List.of());
+        }
+        if (type instanceof ParameterizedType && List.class.equals(((ParameterizedType) type).getRawType())) {
+            return new Schema(Kind.ARRAY, Map.of(), of(((ParameterizedType) type).getActualTypeArguments()[0]), List.of());
+        }
+        if (type instanceof Class) {
+            return of((Class<?>) type);
+        }
+        throw new IllegalArgumentException("Unsupported field type " + type);
+    }
+
+    /**
+     * @return a copy in which the top-level string field {@code name} only accepts
+     * {@code values}
+     */
+    public Schema withEnum(String name, String... values) {
+        Schema field = fields.get(name);
+        if (field == null || field.kind != Kind.STRING) {
+            throw new IllegalArgumentException("No string field " + name);
+        }
+        Map<String, Schema> copy = new LinkedHashMap<>(fields);
+        copy.put(name, new Schema(Kind.STRING, Map.of(), null, List.copyOf(Arrays.asList(values))));
+        return new Schema(kind, Collections.unmodifiableMap(copy), items, allowedValues);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Map<String, Schema> getFields() {
+        return fields;
+    }
+
+    public Schema getItems() {
+        return items;
+    }
+
+    /**
+     * @return the valid values of an enumeration, or an empty list for a free string
+     */
+    public List<String> getAllowedValues() {
+        return allowedValues;
+    }
+}
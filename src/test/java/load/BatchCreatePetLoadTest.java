@@ -0,0 +1,89 @@
+package load;
+
+import com.example.petstore.corpus.PetGenerator;
+import com.example.petstore.dto.Pet;
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ExtentReportUtil;
+import utils.PetBatchClient;
+import utils.PetIds;
+import utils.PetStoreClient;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Seeds {@code batch_size} pets twice: once with blocking {@code POST /pet} calls in a
+ * loop, the way a test would use {@code sendPostRequest}, and once through
+ * {@link PetBatchClient}, then compares the two rates.
+ */
+@org.junit.jupiter.api.Tag("load")
+@ExtendWith(PetStoreStubExtension.class)
+public class BatchCreatePetLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(BatchCreatePetLoadTest.class);
+
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    private List<Pet> createPets(long firstId, int count) {
+        PetGenerator generator = new PetGenerator(ConfigReader.getCorpusSeed(), firstId);
+        List<Pet> pets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            pets.add(generator.pet(i).toPet());
+        }
+        return pets;
+    }
+
+    @Test
+    void batchCreatePetsAgainstSequentialPosts() throws Exception {
+        ReportNode test = ExtentReportUtil.createTest("Batch Create Pets vs Sequential Posts Test");
+        int count = ConfigReader.getBatchSize();
+
+        List<Pet> sequentialPets = createPets(PetIds.lease(count), count);
+        long start = System.nanoTime();
+        for (Pet pet : sequentialPets) {
+            assertEquals(200, PetStoreClient.createPet(pet).getStatusCode(), "Sequential POST /pet failed");
+        }
+        long sequentialNanos = System.nanoTime() - start;
+
+        List<Pet> batchPets = createPets(PetIds.lease(count), count);
+        start = System.nanoTime();
+        List<PetBatchClient.Result> results = PetBatchClient.fromConfig()
+                .createPets(batchPets)
+                .get(5, TimeUnit.MINUTES);
+        long batchNanos = System.nanoTime() - start;
+
+        Map<String, Long> outcomes = results.stream().collect(Collectors.groupingBy(
+                result -> result.getError() != null ? result.getError().getClass().getSimpleName()
+                        : result.getStatusCode() + " " + result.getVersion(),
+                TreeMap::new, Collectors.counting()));
+        String summary = String.format("%d pets: sequential %.1f pets/s, batch (%d in flight) %.1f pets/s, %.1fx; batch outcomes %s",
+                count, rate(count, sequentialNanos), ConfigReader.getBatchMaxInFlight(), rate(count, batchNanos),
+                (double) sequentialNanos / batchNanos, outcomes);
+        logger.info(summary);
+        test.info(summary);
+
+        assertEquals(count, results.stream().filter(PetBatchClient.Result::isSuccess).count(), "Batch POST /pet failed");
+        for (PetBatchClient.Result result : results) {
+            assertEquals(batchPets.get(result.getIndex()).getId(), result.getPet().getId());
+        }
+    }
+
+    private static double rate(int count, long nanos) {
+        return count / (nanos / 1e9);
+    }
+}
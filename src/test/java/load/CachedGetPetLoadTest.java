@@ -0,0 +1,74 @@
+package load;
+
+import com.example.petstore.cache.CacheStats;
+import com.example.petstore.corpus.PetGenerator;
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ExtentReportUtil;
+import utils.PetIds;
+import utils.PetStoreClient;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reads skewed pet ids through {@link PetStoreClient#getPet(Object)} with and without
+ * the client-side pet cache, to show how much load a caching consumer takes off the
+ * service. Every cache miss is a request that reached the server.
+ */
+@org.junit.jupiter.api.Tag("load")
+@ExtendWith(PetStoreStubExtension.class)
+public class CachedGetPetLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(CachedGetPetLoadTest.class);
+
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    @AfterEach
+    void disableCache() {
+        PetStoreClient.disablePetCache();
+    }
+
+    @Test
+    void getPetByIdWithClientCache() throws InterruptedException {
+        ReportNode test = ExtentReportUtil.createTest("Get Pet By ID With Client Cache Load Test");
+        int keySpace = ConfigReader.getReadStormKeySpace();
+        int seededPets = Math.min(ConfigReader.getReadStormSeededPets(), keySpace);
+        long requests = Math.min(ConfigReader.getReadStormRequests(), 20_000);
+        int concurrency = Math.min(ConfigReader.getReadStormConcurrency(), ConfigReader.getMaxConnectionsPerRoute());
+
+        long firstId = PetIds.lease(keySpace);
+        PetGenerator generator = new PetGenerator(ConfigReader.getCorpusSeed(), firstId);
+        for (int i = 0; i < seededPets; i++) {
+            assertEquals(200, PetStoreClient.createPet(generator.pet(i)).getStatusCode(), "Failed to seed pet " + i);
+        }
+        KeyDistribution keys = KeyDistribution.named(ConfigReader.getReadStormDistribution(), keySpace,
+                ConfigReader.getReadStormZipfExponent());
+
+        LatencyReport uncached = new ReadStormDriver(requests, concurrency, keys, 42L)
+                .run("GET /pet/{petId} uncached", key -> PetStoreClient.getPet(firstId + key - 1).getStatusCode());
+
+        PetStoreClient.enablePetCache(ConfigReader.getPetCacheMaxBytes(), Duration.ofMillis(ConfigReader.getPetCacheTtlMillis()));
+        LatencyReport cached = new ReadStormDriver(requests, concurrency, keys, 42L)
+                .run("GET /pet/{petId} cached", key -> PetStoreClient.getPet(firstId + key - 1).getStatusCode());
+        CacheStats stats = PetStoreClient.petCacheStats();
+
+        uncached.logTo(test);
+        cached.logTo(test);
+        String summary = String.format("Pet cache: %s; server requests %d of %d (%.1f%% offloaded)",
+                stats, stats.misses(), requests, stats.hitRate() * 100);
+        logger.info(summary);
+        test.info(summary);
+        assertEquals(0, cached.getErrors(), "Requests failed without a response");
+    }
+}
@@ -0,0 +1,69 @@
+package load;
+
+import com.example.petstore.corpus.PetCorpus;
+import com.example.petstore.corpus.PetGenerator;
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import utils.ExtentReportUtil;
+import utils.PetIds;
+import utils.PetStoreClient;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+import utils.TestPets;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@org.junit.jupiter.api.Tag("load")
+@ExtendWith(PetStoreStubExtension.class)
+public class CreatePetLoadTest {
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    @Test
+    void addNewPetAtConstantArrivalRate() throws InterruptedException {
+        ReportNode test = ExtentReportUtil.createTest("Add New Pet at Constant Arrival Rate Load Test");
+
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+                ConfigReader::getLoadRatePerSecond,
+                Duration.ofSeconds(ConfigReader.getLoadDurationSeconds()),
+                ConfigReader.getLoadMaxConcurrency());
+        LatencyReport report = generator.run("POST /pet", () -> PetStoreClient.createPet(TestPets.newPet().build()));
+
+        report.logTo(test);
+        assertEquals(0, report.getErrors(), "Requests failed without a response");
+    }
+
+    @Test
+    void addCorpusPetsAtConstantArrivalRate() throws IOException, InterruptedException {
+        ReportNode test = ExtentReportUtil.createTest("Add Generated Pets at Constant Arrival Rate Load Test");
+
+        long corpusSize = ConfigReader.getCorpusSize();
+        long corpusFirstId = PetIds.lease(Math.toIntExact(corpusSize));
+        PetGenerator petGenerator = new PetGenerator(ConfigReader.getCorpusSeed(), corpusFirstId);
+        try (PetCorpus corpus = PetCorpus.create(Path.of(ConfigReader.getCorpusFile()), petGenerator, corpusSize)) {
+            test.info("Replaying " + corpus.size() + " generated pets, seed " + corpus.getSeed());
+            AtomicLong next = new AtomicLong();
+
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+                    ConfigReader::getLoadRatePerSecond,
+                    Duration.ofSeconds(ConfigReader.getLoadDurationSeconds()),
+                    ConfigReader.getLoadMaxConcurrency());
+            LatencyReport report = generator.run("POST /pet (corpus)", () -> {
+                long i = next.getAndIncrement() % corpus.size();
+                return PetStoreClient.createPet(corpus.bytes(i), corpusFirstId + i);
+            });
+
+            report.logTo(test);
+            assertEquals(0, report.getErrors(), "Requests failed without a response");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package load;
+
+import com.google.gson.Gson;
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ExtentReportUtil;
+import utils.PetIds;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+import utils.TestPets;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Read storm against {@code GET /pet/{petId}}. Uses {@link HttpClient} rather than
+ * RestAssured: it blocks cheaply on virtual threads and does not spend most of the CPU
+ * budget building requests.
+ */
+@org.junit.jupiter.api.Tag("load")
+@ExtendWith(PetStoreStubExtension.class)
+public class GetPetReadStormTest {
+    private static final Logger logger = LoggerFactory.getLogger(GetPetReadStormTest.class);
+    private static final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static final Gson gson = new Gson();
+
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(ConfigReader.getBaseUrl() + path))
+                .header("api_key", ConfigReader.getApiKey());
+    }
+
+    @Test
+    void getPetByIdUnderReadStorm() throws InterruptedException {
+        String distribution = ConfigReader.getReadStormDistribution();
+        ReportNode test = ExtentReportUtil.createTest("Get Pet By ID Read Storm Test (" + distribution + ")");
+
+        int keySpace = ConfigReader.getReadStormKeySpace();
+        int seededPets = Math.min(ConfigReader.getReadStormSeededPets(), keySpace);
+        logger.info("Seeding {} of {} pet IDs", seededPets, keySpace);
+        test.info("Seeding " + seededPets + " of " + keySpace + " pet IDs");
+        // Key k of the distribution is pet firstId + k - 1.
+        long firstId = PetIds.lease(keySpace);
+        for (long id = firstId; id < firstId + seededPets; id++) {
+            HttpRequest seed = request("/pet")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(TestPets.pet(id).build().toPet())))
+                    .build();
+            assertEquals(200, send(seed), "Failed to seed pet " + id);
+            PetIds.tracker().created(id);
+        }
+
+        KeyDistribution keys = KeyDistribution.named(distribution, keySpace, ConfigReader.getReadStormZipfExponent());
+        ReadStormDriver driver = new ReadStormDriver(ConfigReader.getReadStormRequests(), ConfigReader.getReadStormConcurrency(), keys, 42L);
+        LatencyReport report = driver.run("GET /pet/{petId} " + distribution,
+                key -> send(request("/pet/" + (firstId + key - 1)).GET().build()));
+
+        report.logTo(test);
+        assertEquals(0, report.getErrors(), "Requests failed without a response");
+    }
+}
@@ -0,0 +1,60 @@
+package load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Picks the pet ID for the next request out of the key space {@code [1, keySpace]}.
+ */
+public interface KeyDistribution {
+
+    long next(SplittableRandom random);
+
+    static KeyDistribution uniform(long keySpace) {
+        return random -> 1 + random.nextLong(keySpace);
+    }
+
+    /**
+     * Zipf distribution where the k-th most popular ID is requested with probability
+     * proportional to {@code 1 / k^exponent}. ID 1 is the most popular.
+     */
+    static KeyDistribution zipfian(int keySpace, double exponent) {
+        double[] cumulative = new double[keySpace];
+        double sum = 0;
+        for (int k = 1; k <= keySpace; k++) {
+            sum += 1 / Math.pow(k, exponent);
+            cumulative[k - 1] = sum;
+        }
+        double total = sum;
+        return random -> {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            return (index >= 0 ? index : -index - 1) + 1;
+        };
+    }
+
+    /**
+     * Sends {@code hotProbability} of the traffic to the first {@code hotKeys} IDs and
+     * spreads the rest uniformly over the remaining key space.
+     */
+    static KeyDistribution hotKey(long keySpace, long hotKeys, double hotProbability) {
+        if (hotKeys <= 0 || hotKeys >= keySpace) {
+            throw new IllegalArgumentException("hotKeys must be between 1 and keySpace - 1: " + hotKeys);
+        }
+        return random -> random.nextDouble() < hotProbability
+                ? 1 + random.nextLong(hotKeys)
+                : 1 + hotKeys + random.nextLong(keySpace - hotKeys);
+    }
+
+    static KeyDistribution named(String name, int keySpace, double zipfExponent) {
+        switch (name) {
+            case "uniform":
+                return uniform(keySpace);
+            case "zipfian":
+                return zipfian(keySpace, zipfExponent);
+            case "hotkey":
+                return hotKey(keySpace, Math.max(1, keySpace / 100), 0.9);
+            default:
+                throw new IllegalArgumentException("Unknown key distribution: " + name);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+import utils.ReportNode;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of a load run: latency histograms in nanoseconds, a breakdown of response
+ * status codes and the achieved throughput.
+ */
+public class LatencyReport {
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final String name;
+    private final Histogram responseTime;
+    private final Histogram serviceTime;
+    private final Map<Integer, Long> statusCounts;
+    private final long errors;
+    private final long elapsedNanos;
+
+    public LatencyReport(String name, Histogram responseTime, Histogram serviceTime,
+                         Map<Integer, Long> statusCounts, long errors, long elapsedNanos) {
+        this.name = name;
+        this.responseTime = responseTime;
+        this.serviceTime = serviceTime;
+        this.statusCounts = new TreeMap<>(statusCounts);
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Latency measured from the moment the request was scheduled to be sent, so
+     * queueing behind slow requests is included.
+     */
+    public Histogram getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * Latency measured from the moment the request was actually sent.
+     */
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getRequests() {
+        return responseTime.getTotalCount();
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : getRequests() / (elapsedNanos / 1e9);
+    }
+
+    public double percentileMillis(double percentile) {
+        return toMillis(responseTime.getValueAtPercentile(percentile));
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(name)
+                .append(": ").append(getRequests()).append(" requests in ")
+                .append(String.format("%.1f", elapsedNanos / 1e9)).append(" s, ")
+                .append(String.format("%.1f", getThroughput())).append(" req/s");
+        for (double percentile : PERCENTILES) {
+            summary.append(", p").append(formatPercentile(percentile)).append('=')
+                    .append(String.format("%.2f", percentileMillis(percentile))).append(" ms");
+        }
+        summary.append(" (service p99=")
+                .append(String.format("%.2f", toMillis(serviceTime.getValueAtPercentile(99.0)))).append(" ms)");
+        summary.append(", status codes ").append(statusCounts);
+        if (errors > 0) {
+            summary.append(", ").append(errors).append(" errors");
+        }
+        return summary.toString();
+    }
+
+    public void logTo(ReportNode node) {
+        node.info(summary());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,104 @@
+package load;
+
+import java.util.Arrays;
+
+/**
+ * Mann-Kendall test for a monotonic trend, with Sen's slope for its size. The test only
+ * looks at the sign of every pairwise difference, so it makes no assumption about the
+ * shape of the trend and a few outliers (a GC that ran late, a burst of threads) barely
+ * move it.
+ * <p>
+ * Samples of a running JVM are autocorrelated, which makes the test over-confident.
+ * Callers should combine the p-value with a minimum {@link Result#senSlope() slope}
+ * rather than trust significance alone.
+ */
+public final class MannKendall {
+    private MannKendall() {
+    }
+
+    public record Result(int n, long s, double z, double pIncreasing, double senSlope) {
+        /**
+         * @return whether the series rises significantly at level {@code alpha}
+         */
+        public boolean isIncreasing(double alpha) {
+            return pIncreasing < alpha;
+        }
+    }
+
+    /**
+     * @param series samples at equal intervals, oldest first
+     */
+    public static Result test(double[] series) {
+        int n = series.length;
+        long s = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                s += Integer.signum(Double.compare(series[j], series[i]));
+            }
+        }
+        double variance = variance(series);
+        double z = 0;
+        if (variance > 0 && s > 0) {
+            z = (s - 1) / Math.sqrt(variance);
+        } else if (variance > 0 && s < 0) {
+            z = (s + 1) / Math.sqrt(variance);
+        }
+        return new Result(n, s, z, 1 - normalCdf(z), senSlope(series));
+    }
+
+    /**
+     * Variance of S with the correction for tied values.
+     */
+    private static double variance(double[] series) {
+        int n = series.length;
+        double variance = n * (n - 1.0) * (2.0 * n + 5);
+        double[] sorted = series.clone();
+        Arrays.sort(sorted);
+        int i = 0;
+        while (i < n) {
+            int t = 1;
+            while (i + t < n && sorted[i + t] == sorted[i]) {
+                t++;
+            }
+            variance -= t * (t - 1.0) * (2.0 * t + 5);
+            i += t;
+        }
+        return variance / 18;
+    }
+
+    /**
+     * Median of the slopes between every pair of samples, per sample interval.
+     */
+    private static double senSlope(double[] series) {
+        int n = series.length;
+        if (n < 2) {
+            return 0;
+        }
+        double[] slopes = new double[n * (n - 1) / 2];
+        int k = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                slopes[k++] = (series[j] - series[i]) / (j - i);
+            }
+        }
+        Arrays.sort(slopes);
+        int middle = slopes.length / 2;
+        return slopes.length % 2 == 1 ? slopes[middle] : (slopes[middle - 1] + slopes[middle]) / 2;
+    }
+
+    static double normalCdf(double z) {
+        return 0.5 * erfc(-z / Math.sqrt(2));
+    }
+
+    /**
+     * Complementary error function, accurate to about 1.2e-7 (Numerical Recipes, erfcc).
+     */
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1 / (1 + 0.5 * z);
+        double result = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? result : 2 - result;
+    }
+}
@@ -0,0 +1,58 @@
+package load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MannKendallTest {
+    @Test
+    void detectsNoisyGrowth() {
+        Random random = new Random(7);
+        double[] series = new double[200];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = 100_000_000 + i * 50_000 + random.nextGaussian() * 1_000_000;
+        }
+
+        MannKendall.Result result = MannKendall.test(series);
+
+        assertTrue(result.isIncreasing(0.01), result.toString());
+        assertEquals(50_000, result.senSlope(), 10_000);
+    }
+
+    @Test
+    void ignoresStationaryNoise() {
+        Random random = new Random(7);
+        double[] series = new double[200];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = 100_000_000 + random.nextGaussian() * 1_000_000;
+        }
+
+        assertFalse(MannKendall.test(series).isIncreasing(0.01));
+    }
+
+    @Test
+    void handlesConstantAndDecreasingSeries() {
+        MannKendall.Result constant = MannKendall.test(new double[]{42, 42, 42, 42, 42, 42});
+        assertEquals(0, constant.s());
+        assertEquals(0.5, constant.pIncreasing(), 1e-6);
+        assertEquals(0, constant.senSlope());
+
+        MannKendall.Result decreasing = MannKendall.test(new double[]{9, 8, 7, 6, 5, 4, 3, 2, 1});
+        assertFalse(decreasing.isIncreasing(0.05));
+        assertEquals(-1, decreasing.senSlope());
+    }
+
+    @Test
+    void matchesTextbookStatistic() {
+        // 1, 3, 2, 5, 4: 8 increasing pairs, 2 decreasing; Var(S) = 5 * 4 * 15 / 18
+        MannKendall.Result result = MannKendall.test(new double[]{1, 3, 2, 5, 4});
+        assertEquals(6, result.s());
+        assertEquals(5 / Math.sqrt(50.0 / 3), result.z(), 1e-9);
+        assertEquals(0.1103, result.pIncreasing(), 1e-3);
+        assertEquals(0.5, MannKendall.normalCdf(0), 1e-7);
+    }
+}
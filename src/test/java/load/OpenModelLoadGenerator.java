@@ -0,0 +1,137 @@
+package load;
+
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Sends requests at a constant arrival rate regardless of how fast the server answers.
+ * <p>
+ * Every request has an intended start time on a fixed schedule. Latency is recorded
+ * from that intended start rather than from the moment a worker picked the request
+ * up, which corrects for coordinated omission: when the server stalls, the requests
+ * that should have been sent during the stall are charged for the time they waited.
+ * <p>
+ * The rate can come from a {@link DoubleSupplier}, which is asked again before every
+ * request, so a run follows changes such as an edited {@code load_rate_per_second}
+ * without restarting. A rate of zero or less pauses sending until it is raised again.
+ */
+public class OpenModelLoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(OpenModelLoadGenerator.class);
+
+    private static final long PAUSE_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final DoubleSupplier ratePerSecond;
+    private final Duration duration;
+    private final int maxConcurrency;
+
+    public OpenModelLoadGenerator(double ratePerSecond, Duration duration, int maxConcurrency) {
+        this(fixedRate(ratePerSecond), duration, maxConcurrency);
+    }
+
+    public OpenModelLoadGenerator(DoubleSupplier ratePerSecond, Duration duration, int maxConcurrency) {
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    private static DoubleSupplier fixedRate(double ratePerSecond) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive: " + ratePerSecond);
+        }
+        return () -> ratePerSecond;
+    }
+
+    public LatencyReport run(String name, Supplier<Response> request) throws InterruptedException {
+        Histogram responseTime = new ConcurrentHistogram(3);
+        Histogram serviceTime = new ConcurrentHistogram(3);
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+
+        ExecutorService workers = Executors.newFixedThreadPool(maxConcurrency, new WorkerThreadFactory(name));
+
+        double initialRate = ratePerSecond.getAsDouble();
+        logger.info("{}: sending at {} req/s for {} s with up to {} in flight", name, initialRate, duration.toSeconds(), maxConcurrency);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextStart = start;
+        double lastRate = initialRate;
+        try {
+            while (nextStart < end) {
+                double rate = ratePerSecond.getAsDouble();
+                if (rate != lastRate) {
+                    logger.info("{}: rate changed from {} to {} req/s", name, lastRate, rate);
+                    lastRate = rate;
+                }
+                if (rate <= 0) {
+                    // Paused: nothing is due, so restart the schedule once the rate is raised.
+                    LockSupport.parkNanos(PAUSE_CHECK_NANOS);
+                    nextStart = System.nanoTime();
+                    continue;
+                }
+                long intendedStart = nextStart;
+                nextStart += (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+                long wait;
+                while ((wait = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                workers.execute(() -> {
+                    long actualStart = System.nanoTime();
+                    try {
+                        int statusCode = request.get().getStatusCode();
+                        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+                    } catch (RuntimeException e) {
+                        errors.increment();
+                    }
+                    long finished = System.nanoTime();
+                    responseTime.recordValue(finished - intendedStart);
+                    serviceTime.recordValue(finished - actualStart);
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+        if (!workers.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+            logger.warn("{}: requests still in flight after the drain timeout were abandoned", name);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<Integer, Long> counts = new HashMap<>();
+        statusCounts.forEach((code, count) -> counts.put(code, count.sum()));
+        LatencyReport report = new LatencyReport(name, responseTime, serviceTime, counts, errors.sum(), elapsed);
+        logger.info(report.summary());
+        return report;
+    }
+
+    private static class WorkerThreadFactory implements java.util.concurrent.ThreadFactory {
+        private final String name;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        WorkerThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
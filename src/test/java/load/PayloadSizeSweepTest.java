@@ -0,0 +1,105 @@
+package load;
+
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ExtentReportUtil;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sweeps the name length, the number of tags and the number of photo URLs of
+ * {@code POST /pet} and {@code PUT /pet} bodies from a few bytes to
+ * {@code sweep_max_body_bytes}. Every point goes to {@code sweep_csv_file} as soon as it
+ * is measured, and {@code sweep_chart_file} plots p99 latency, throughput and client
+ * allocation against the body size. The report names the first size at which each
+ * series got failures, which is usually where the server's body limit is.
+ */
+@org.junit.jupiter.api.Tag("load")
+@ExtendWith(PetStoreStubExtension.class)
+public class PayloadSizeSweepTest {
+    private static final Logger logger = LoggerFactory.getLogger(PayloadSizeSweepTest.class);
+
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    @Test
+    void sweepPayloadSizes() throws IOException, InterruptedException {
+        ReportNode test = ExtentReportUtil.createTest("Payload Size Sweep for POST and PUT /pet");
+        PayloadSweep sweep = new PayloadSweep(
+                ConfigReader.getSweepMaxBodyBytes(),
+                ConfigReader.getSweepGrowthFactor(),
+                ConfigReader.getSweepRequestsPerPoint(),
+                ConfigReader.getSweepMaxBytesPerPoint(),
+                ConfigReader.getSweepConcurrency(),
+                ConfigReader.getSweepWarmupRequests());
+        Path csv = Paths.get(ConfigReader.getSweepCsvFile());
+        Path chart = Paths.get(ConfigReader.getSweepChartFile());
+        Files.createDirectories(csv.toAbsolutePath().getParent());
+        Files.createDirectories(chart.toAbsolutePath().getParent());
+
+        List<List<SweepPoint>> series = new ArrayList<>();
+        try (BufferedWriter out = Files.newBufferedWriter(csv)) {
+            out.write(SweepPoint.CSV_HEADER);
+            out.newLine();
+            for (String method : List.of("POST", "PUT")) {
+                for (PayloadSweep.Axis axis : PayloadSweep.Axis.values()) {
+                    List<SweepPoint> points = sweep.run(axis, method, point -> {
+                        logger.info("{}", point);
+                        test.info(point.toString());
+                        try {
+                            out.write(point.toCsvLine());
+                            out.newLine();
+                            out.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    series.add(points);
+                    points.stream().filter(point -> point.failures() > 0).findFirst().ifPresentOrElse(
+                            point -> test.info(method + " " + axis.getLabel() + " first failed at " + point.size()
+                                    + " (" + SvgChart.bytes(point.bodyBytes()) + "): " + point.errors() + " errors, "
+                                    + point.rejected() + " rejected"),
+                            () -> test.info(method + " " + axis.getLabel() + " never failed up to "
+                                    + SvgChart.bytes(points.get(points.size() - 1).bodyBytes())));
+                }
+            }
+        }
+
+        Files.writeString(chart, new SvgChart("POST and PUT /pet by payload size", "body size", SvgChart::bytes)
+                .panel("p99 latency (ms)", SvgChart::number, toSeries(series, SweepPoint::p99))
+                .panel("throughput (requests/s)", SvgChart::number, toSeries(series, SweepPoint::throughput))
+                .panel("client allocation per request (bytes)", SvgChart::bytes, toSeries(series, point -> point.allocatedBytesPerRequest()))
+                .render());
+        test.info("Wrote " + csv + " and " + chart);
+        assertTrue(series.stream().allMatch(points -> !points.isEmpty()), "Every series has points");
+    }
+
+    private static List<SvgChart.Series> toSeries(List<List<SweepPoint>> series, ToDoubleFunction<SweepPoint> y) {
+        List<SvgChart.Series> result = new ArrayList<>();
+        for (List<SweepPoint> points : series) {
+            SweepPoint first = points.get(0);
+            result.add(new SvgChart.Series(first.method() + " " + first.axis().getLabel(),
+                    points.stream().mapToDouble(SweepPoint::bodyBytes).toArray(),
+                    points.stream().mapToDouble(y).toArray()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,214 @@
+package load;
+
+import com.example.petstore.json.PetJsonWriter;
+import com.example.petstore.value.PetValue;
+import com.example.petstore.value.TagValue;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import utils.PetIds;
+import utils.PetStoreClient;
+import utils.TestPets;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Grows one dimension of a pet at a time and measures {@code POST /pet} or
+ * {@code PUT /pet} at every size: throughput, latency and the bytes the client allocates
+ * per request.
+ * <p>
+ * Sizes start at 1 and grow by {@code growthFactor} until the body would exceed
+ * {@code maxBodyBytes}. Each point sends {@code requestsPerPoint} requests from
+ * {@code concurrency} threads, but no more than {@code maxBytesPerPoint} in total, so the
+ * megabyte points finish in about the same time as the small ones.
+ * <p>
+ * Each worker thread has one pet id for the life of the sweep and every point
+ * overwrites that pet, so a server that keeps every pet holds at most
+ * {@code concurrency} of them. They are deleted when a run ends. Throughput counts only
+ * requests answered with 200.
+ */
+public class PayloadSweep {
+    private static final int MIN_REQUESTS_PER_POINT = 10;
+
+    /**
+     * The dimension a sweep grows.
+     */
+    public enum Axis {
+        NAME_LENGTH("name_length"),
+        TAGS("tags"),
+        PHOTO_URLS("photo_urls");
+
+        private final String label;
+
+        Axis(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        PetValue pet(long id, int size) {
+            PetValue.Builder pet = TestPets.pet(id);
+            switch (this) {
+                case NAME_LENGTH:
+                    return pet.name("A".repeat(size)).build();
+                case TAGS:
+                    List<TagValue> tags = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        tags.add(TagValue.of((long) i, "tag-" + i));
+                    }
+                    return pet.tags(tags).build();
+                case PHOTO_URLS:
+                    List<String> urls = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        urls.add("https://example.com/photos/" + i + ".png");
+                    }
+                    return pet.photoUrls(urls).build();
+                default:
+                    throw new AssertionError(this);
+            }
+        }
+    }
+
+    private final long maxBodyBytes;
+    private final int growthFactor;
+    private final int requestsPerPoint;
+    private final long maxBytesPerPoint;
+    private final int concurrency;
+    private final int warmupRequests;
+    private final long firstId;
+
+    public PayloadSweep(long maxBodyBytes, int growthFactor, int requestsPerPoint, long maxBytesPerPoint,
+                        int concurrency, int warmupRequests) {
+        if (growthFactor < 2) {
+            throw new IllegalArgumentException("growthFactor must be at least 2, was " + growthFactor);
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1, was " + concurrency);
+        }
+        this.maxBodyBytes = maxBodyBytes;
+        this.growthFactor = growthFactor;
+        this.requestsPerPoint = requestsPerPoint;
+        this.maxBytesPerPoint = maxBytesPerPoint;
+        this.concurrency = concurrency;
+        this.warmupRequests = warmupRequests;
+        this.firstId = PetIds.lease(concurrency);
+    }
+
+    /**
+     * @param method  {@code POST} or {@code PUT}
+     * @param onPoint called with each point as soon as it is measured
+     */
+    public List<SweepPoint> run(Axis axis, String method, Consumer<SweepPoint> onPoint) throws InterruptedException {
+        if (!method.equals("POST") && !method.equals("PUT")) {
+            throw new IllegalArgumentException("method must be POST or PUT, was " + method);
+        }
+        List<SweepPoint> points = new ArrayList<>();
+        try {
+            for (long size = 1; size <= Integer.MAX_VALUE; size *= growthFactor) {
+                long bodyBytes = PetJsonWriter.encodedLength(axis.pet(Long.MAX_VALUE, (int) size));
+                if (bodyBytes > maxBodyBytes && !points.isEmpty()) {
+                    break;
+                }
+                SweepPoint point = measure(axis, method, (int) size, bodyBytes);
+                points.add(point);
+                onPoint.accept(point);
+            }
+        } finally {
+            deletePets();
+        }
+        return points;
+    }
+
+    private void deletePets() {
+        for (int i = 0; i < concurrency; i++) {
+            try {
+                PetStoreClient.deletePet(firstId + i);
+            } catch (RuntimeException ignored) {
+                // PetCleanup retries pets left on a real server
+            }
+        }
+    }
+
+    private SweepPoint measure(Axis axis, String method, int size, long bodyBytes) throws InterruptedException {
+        long requests = Math.max(MIN_REQUESTS_PER_POINT, Math.min(requestsPerPoint, maxBytesPerPoint / Math.max(1, bodyBytes)));
+        AtomicLong remaining = new AtomicLong(requests);
+        List<Histogram> latencies = Collections.synchronizedList(new ArrayList<>());
+        LongAdder errors = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder allocated = new LongAdder();
+        boolean allocationMeasured = allocationCounter() != null;
+
+        List<PetValue> pets = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            PetValue pet = axis.pet(firstId + i, size);
+            pets.add(pet);
+            // Creates the pet that PUT overwrites, and warms up the code path for this size.
+            for (int w = 0; w < Math.max(1, warmupRequests / concurrency); w++) {
+                try {
+                    PetStoreClient.createPet(pet);
+                } catch (RuntimeException ignored) {
+                    // counted when measuring
+                }
+            }
+        }
+
+        List<Thread> workers = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        for (PetValue pet : pets) {
+            Thread worker = new Thread(() -> {
+                com.sun.management.ThreadMXBean counter = allocationCounter();
+                long allocatedBefore = counter != null ? counter.getCurrentThreadAllocatedBytes() : 0;
+                Histogram latency = new Histogram(3);
+                while (remaining.getAndDecrement() > 0) {
+                    long sent = System.nanoTime();
+                    try {
+                        Response response = method.equals("POST") ? PetStoreClient.createPet(pet) : PetStoreClient.updatePet(pet);
+                        if (response.getStatusCode() != 200) {
+                            rejected.increment();
+                        }
+                    } catch (RuntimeException e) {
+                        errors.increment();
+                    }
+                    latency.recordValue(System.nanoTime() - sent);
+                }
+                if (counter != null) {
+                    allocated.add(counter.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                }
+                latencies.add(latency);
+            }, "payload-sweep-" + workers.size());
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Histogram latency = new Histogram(3);
+        latencies.forEach(latency::add);
+        return new SweepPoint(axis, method, size, bodyBytes, requests, errors.sum(), rejected.sum(),
+                (requests - errors.sum() - rejected.sum()) / (elapsed / 1e9),
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getMaxValue()),
+                allocationMeasured ? allocated.sum() / requests : -1);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean counter
+                && counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+            return counter;
+        }
+        return null;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
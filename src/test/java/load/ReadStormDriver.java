@@ -0,0 +1,105 @@
+package load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Fans out a large number of {@code GET /pet/{petId}} calls with a fixed number in
+ * flight, choosing IDs from a {@link KeyDistribution}.
+ * <p>
+ * Each call runs on its own virtual thread when the JVM supports them (Java 21+). On
+ * older JVMs it falls back to a fixed pool of platform threads sized to the concurrency.
+ */
+public class ReadStormDriver {
+    private static final Logger logger = LoggerFactory.getLogger(ReadStormDriver.class);
+
+    private final long requests;
+    private final int concurrency;
+    private final KeyDistribution keys;
+    private final long seed;
+
+    public ReadStormDriver(long requests, int concurrency, KeyDistribution keys, long seed) {
+        this.requests = requests;
+        this.concurrency = concurrency;
+        this.keys = keys;
+        this.seed = seed;
+    }
+
+    /**
+     * @param request sends {@code GET /pet/{petId}} for the given ID and returns the
+     *                status code
+     */
+    public LatencyReport run(String name, LongToIntFunction request) throws InterruptedException {
+        Histogram latency = new ConcurrentHistogram(3);
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        LongAdder errors = new LongAdder();
+        Semaphore inFlight = new Semaphore(concurrency);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        ExecutorService executor = newExecutor();
+        logger.info("{}: sending {} requests with {} in flight", name, requests, concurrency);
+        long start = System.nanoTime();
+        try {
+            for (long i = 0; i < requests; i++) {
+                long petId = keys.next(random);
+                inFlight.acquire();
+                executor.execute(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        int statusCode = request.applyAsInt(petId);
+                        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+                    } catch (RuntimeException e) {
+                        errors.increment();
+                    } finally {
+                        latency.recordValue(System.nanoTime() - sent);
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(concurrency);
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<Integer, Long> counts = new HashMap<>();
+        statusCounts.forEach((code, count) -> counts.put(code, count.sum()));
+        LatencyReport report = new LatencyReport(name, latency, latency, counts, errors.sum(), elapsed);
+        logger.info(report.summary());
+        return report;
+    }
+
+    private ExecutorService newExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class))
+                    .invoke();
+            logger.info("Using virtual threads");
+            return executor;
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            logger.info("Virtual threads are not available on Java {}, using {} platform threads",
+                    Runtime.version().feature(), concurrency);
+            return Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "read-storm");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create the read storm executor", e);
+        }
+    }
+}
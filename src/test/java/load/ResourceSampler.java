@@ -0,0 +1,56 @@
+package load;
+
+import org.apache.http.pool.PoolStats;
+import utils.PetStoreClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Samples the client-side resources that leak most often: heap that survives a full
+ * GC, file descriptors, threads and connections checked out of the
+ * {@link PetStoreClient} pool.
+ */
+public class ResourceSampler {
+    /**
+     * One sample; {@code openFileDescriptors} is -1 where the JVM cannot report it.
+     */
+    public record Sample(long elapsedMillis, long heapAfterGcBytes, long openFileDescriptors, int liveThreads,
+                         int poolLeased, int poolAvailable, int poolPending) {
+        static final String CSV_HEADER = "elapsed_s,heap_after_gc_bytes,open_fds,live_threads,pool_leased,pool_available,pool_pending";
+
+        String toCsv() {
+            return String.format("%.1f,%d,%d,%d,%d,%d,%d", elapsedMillis / 1000.0, heapAfterGcBytes, openFileDescriptors,
+                    liveThreads, poolLeased, poolAvailable, poolPending);
+        }
+    }
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final boolean forceGc;
+
+    /**
+     * @param forceGc run {@link System#gc()} before reading the heap, so the heap figure
+     *                is what survives a full collection rather than whatever garbage
+     *                happened to be around
+     */
+    public ResourceSampler(boolean forceGc) {
+        this.forceGc = forceGc;
+    }
+
+    public Sample sample(long elapsedMillis) {
+        if (forceGc) {
+            System.gc();
+        }
+        long heap = memory.getHeapMemoryUsage().getUsed();
+        long fds = os instanceof com.sun.management.UnixOperatingSystemMXBean
+                ? ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount()
+                : -1;
+        PoolStats pool = PetStoreClient.poolStats();
+        return new Sample(elapsedMillis, heap, fds, threads.getThreadCount(),
+                pool.getLeased(), pool.getAvailable(), pool.getPending());
+    }
+}
@@ -0,0 +1,184 @@
+package load;
+
+import config.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ExtentReportUtil;
+import utils.PetIds;
+import utils.PetStoreClient;
+import utils.PetStoreStubExtension;
+import utils.ReportNode;
+import utils.TestPets;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cycles the create, get and update flows of {@code CreatePetTest}, {@code GetPetTest}
+ * and {@code UpdatePetTest} for {@code soak_duration_seconds} while sampling client
+ * resources every {@code soak_sample_seconds} into {@code soak_csv_file}.
+ * <p>
+ * After the warm-up, every resource series goes through a {@link MannKendall} test. A
+ * series counts as leaking when it rises significantly ({@code soak_trend_alpha}) and
+ * its Sen's slope adds up to at least {@code soak_min_growth} of its median over the
+ * run (of the pool size, for connection counts). The flows reuse {@code soak_pet_pool} pet ids, so the in-process stub server
+ * holds a bounded number of pets and its own storage does not read as a client leak.
+ */
+@org.junit.jupiter.api.Tag("soak")
+@ExtendWith(PetStoreStubExtension.class)
+public class SoakTest {
+    private static final Logger logger = LoggerFactory.getLogger(SoakTest.class);
+    private static final int MAX_TREND_POINTS = 1000;
+
+    @AfterAll
+    static void tearDown() {
+        ExtentReportUtil.flushReports();
+    }
+
+    @Test
+    void cyclePetFlowsWithoutLeaking() throws IOException, InterruptedException {
+        ReportNode test = ExtentReportUtil.createTest("Pet Flows Soak Test");
+        long durationMillis = TimeUnit.SECONDS.toMillis(ConfigReader.getSoakDurationSeconds());
+        long sampleMillis = TimeUnit.SECONDS.toMillis(ConfigReader.getSoakSampleSeconds());
+        long warmupMillis = TimeUnit.SECONDS.toMillis(ConfigReader.getSoakWarmupSeconds());
+        int concurrency = ConfigReader.getSoakConcurrency();
+        int petPool = ConfigReader.getSoakPetPool();
+        long firstId = PetIds.lease(petPool);
+        Path csv = Paths.get(ConfigReader.getSoakCsvFile());
+
+        String plan = String.format("Soaking for %d s with %d workers, sampling every %d s into %s",
+                durationMillis / 1000, concurrency, sampleMillis / 1000, csv);
+        logger.info(plan);
+        test.info(plan);
+
+        LongAdder cycles = new LongAdder();
+        LongAdder failures = new LongAdder();
+        AtomicInteger nextPet = new AtomicInteger();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    long id = firstId + Math.floorMod(nextPet.getAndIncrement(), petPool);
+                    try {
+                        int created = PetStoreClient.createPet(TestPets.pet(id).build()).getStatusCode();
+                        int fetched = PetStoreClient.getPet(id).getStatusCode();
+                        int updated = PetStoreClient.updatePet(TestPets.pet(id).name("MiffyUpdated").status("sold").build()).getStatusCode();
+                        if (created != 200 || fetched != 200 || updated != 200) {
+                            failures.increment();
+                        }
+                    } catch (RuntimeException e) {
+                        failures.increment();
+                        logger.warn("Soak cycle for pet {} failed", id, e);
+                    }
+                    cycles.increment();
+                }
+            });
+        }
+        workers.shutdown();
+
+        ResourceSampler sampler = new ResourceSampler(ConfigReader.isSoakForceGc());
+        List<ResourceSampler.Sample> samples = new ArrayList<>();
+        Files.createDirectories(csv.toAbsolutePath().getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(csv)) {
+            out.write("timestamp," + ResourceSampler.Sample.CSV_HEADER + ",cycles,failures");
+            out.newLine();
+            do {
+                ResourceSampler.Sample sample = sampler.sample(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                samples.add(sample);
+                out.write(Instant.now() + "," + sample.toCsv() + "," + cycles.sum() + "," + failures.sum());
+                out.newLine();
+                out.flush();
+            } while (!workers.awaitTermination(sampleMillis, TimeUnit.MILLISECONDS));
+        }
+
+        String totals = String.format("%d cycles (%d requests), %d failed", cycles.sum(), 3 * cycles.sum(), failures.sum());
+        logger.info(totals);
+        test.info(totals);
+
+        List<ResourceSampler.Sample> measured = new ArrayList<>();
+        for (ResourceSampler.Sample sample : samples) {
+            if (sample.elapsedMillis() >= warmupMillis) {
+                measured.add(sample);
+            }
+        }
+        List<String> leaks = new ArrayList<>();
+        // Pool series hover near zero, so their growth is measured against the pool size.
+        int poolSize = ConfigReader.getMaxConnectionsPerRoute();
+        checkTrend("heap after GC (bytes)", measured, ResourceSampler.Sample::heapAfterGcBytes, 1, test, leaks);
+        if (!measured.isEmpty() && measured.get(0).openFileDescriptors() >= 0) {
+            checkTrend("open file descriptors", measured, ResourceSampler.Sample::openFileDescriptors, 1, test, leaks);
+        }
+        checkTrend("live threads", measured, ResourceSampler.Sample::liveThreads, 1, test, leaks);
+        checkTrend("leased connections", measured, ResourceSampler.Sample::poolLeased, poolSize, test, leaks);
+        checkTrend("pending connection requests", measured, ResourceSampler.Sample::poolPending, poolSize, test, leaks);
+
+        assertEquals(0, failures.sum(), "Soak cycles failed");
+        assertTrue(leaks.isEmpty(), "Resources grew steadily during the soak: " + String.join("; ", leaks));
+    }
+
+    private static void checkTrend(String name, List<ResourceSampler.Sample> samples,
+                                   ToDoubleFunction<ResourceSampler.Sample> metric, double scale, ReportNode test,
+                                   List<String> leaks) {
+        if (samples.size() < 10) {
+            test.info(name + ": only " + samples.size() + " samples after the warm-up, no trend test");
+            return;
+        }
+        double[] series = downsample(samples, metric);
+        MannKendall.Result trend = MannKendall.test(series);
+        double[] sorted = series.clone();
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2];
+        double growth = trend.senSlope() * (series.length - 1);
+        double relativeGrowth = growth / Math.max(Math.abs(median), scale);
+
+        String line = String.format("%s: median %.0f, Sen's slope %.1f per sample, %.1f%% growth over the run, p=%.4g",
+                name, median, trend.senSlope(), relativeGrowth * 100, trend.pIncreasing());
+        logger.info(line);
+        if (trend.isIncreasing(ConfigReader.getSoakTrendAlpha()) && relativeGrowth >= ConfigReader.getSoakMinGrowth()) {
+            test.fail(line);
+            leaks.add(line);
+        } else {
+            test.pass(line);
+        }
+    }
+
+    /**
+     * Averages neighbouring samples so that the quadratic trend test stays cheap on
+     * runs of many hours.
+     */
+    private static double[] downsample(List<ResourceSampler.Sample> samples, ToDoubleFunction<ResourceSampler.Sample> metric) {
+        int points = Math.min(samples.size(), MAX_TREND_POINTS);
+        double[] series = new double[points];
+        for (int p = 0; p < points; p++) {
+            int from = (int) ((long) p * samples.size() / points);
+            int to = (int) ((long) (p + 1) * samples.size() / points);
+            double sum = 0;
+            for (int i = from; i < to; i++) {
+                sum += metric.applyAsDouble(samples.get(i));
+            }
+            series[p] = sum / (to - from);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,161 @@
+package load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.DoubleFunction;
+
+/**
+ * Line charts on log-log axes, rendered as a standalone SVG so they open in any browser
+ * without a charting library. Panels are stacked vertically and share the x axis range;
+ * points that are zero or negative cannot be placed on a log axis and are left out.
+ */
+final class SvgChart {
+    private static final String[] COLORS = {"#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b"};
+    private static final int WIDTH = 900;
+    private static final int PANEL_HEIGHT = 300;
+    private static final int LEFT = 80;
+    private static final int RIGHT = 200;
+    private static final int TOP = 40;
+    private static final int BOTTOM = 50;
+
+    record Series(String name, double[] x, double[] y) {
+    }
+
+    private record Panel(String title, DoubleFunction<String> yFormat, List<Series> series) {
+    }
+
+    private final String title;
+    private final String xLabel;
+    private final DoubleFunction<String> xFormat;
+    private final List<Panel> panels = new ArrayList<>();
+
+    SvgChart(String title, String xLabel, DoubleFunction<String> xFormat) {
+        this.title = title;
+        this.xLabel = xLabel;
+        this.xFormat = xFormat;
+    }
+
+    SvgChart panel(String title, DoubleFunction<String> yFormat, List<Series> series) {
+        panels.add(new Panel(title, yFormat, List.copyOf(series)));
+        return this;
+    }
+
+    String render() {
+        double[] xRange = range(panels.stream().flatMap(panel -> panel.series().stream()).map(Series::x).toList());
+        int height = panels.size() * PANEL_HEIGHT + 30;
+        StringBuilder svg = new StringBuilder();
+        svg.append(String.format(Locale.ROOT, "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" "
+                + "font-family=\"sans-serif\" font-size=\"12\">\n", WIDTH, height));
+        svg.append("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"20\" font-size=\"16\">%s</text>\n", LEFT, escape(title)));
+        for (int i = 0; i < panels.size(); i++) {
+            svg.append(String.format(Locale.ROOT, "<g transform=\"translate(0,%d)\">\n", 30 + i * PANEL_HEIGHT));
+            renderPanel(svg, panels.get(i), xRange);
+            svg.append("</g>\n");
+        }
+        return svg.append("</svg>\n").toString();
+    }
+
+    private void renderPanel(StringBuilder svg, Panel panel, double[] xRange) {
+        double[] yRange = range(panel.series().stream().map(Series::y).toList());
+        int plotWidth = WIDTH - LEFT - RIGHT;
+        int plotHeight = PANEL_HEIGHT - TOP - BOTTOM;
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" font-weight=\"bold\">%s</text>\n", LEFT, TOP - 10, escape(panel.title())));
+        svg.append(String.format(Locale.ROOT, "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"#999\"/>\n",
+                LEFT, TOP, plotWidth, plotHeight));
+
+        for (double tick : decades(xRange)) {
+            double x = LEFT + scale(tick, xRange) * plotWidth;
+            svg.append(String.format(Locale.ROOT, "<line x1=\"%.1f\" y1=\"%d\" x2=\"%.1f\" y2=\"%d\" stroke=\"#eee\"/>\n", x, TOP, x, TOP + plotHeight));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>\n", x, TOP + plotHeight + 15, escape(xFormat.apply(tick))));
+        }
+        for (double tick : decades(yRange)) {
+            double y = TOP + plotHeight - scale(tick, yRange) * plotHeight;
+            svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#eee\"/>\n", LEFT, y, LEFT + plotWidth, y));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>\n", LEFT - 5, y + 4, escape(panel.yFormat().apply(tick))));
+        }
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\">%s</text>\n",
+                LEFT + plotWidth / 2, TOP + plotHeight + 35, escape(xLabel)));
+
+        for (int s = 0; s < panel.series().size(); s++) {
+            Series series = panel.series().get(s);
+            String color = COLORS[s % COLORS.length];
+            StringBuilder points = new StringBuilder();
+            for (int i = 0; i < series.x().length; i++) {
+                if (series.x()[i] <= 0 || series.y()[i] <= 0) {
+                    continue;
+                }
+                double x = LEFT + scale(series.x()[i], xRange) * plotWidth;
+                double y = TOP + plotHeight - scale(series.y()[i], yRange) * plotHeight;
+                points.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, y));
+                svg.append(String.format(Locale.ROOT, "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"3\" fill=\"%s\"/>\n", x, y, color));
+            }
+            svg.append(String.format(Locale.ROOT, "<polyline points=\"%s\" fill=\"none\" stroke=\"%s\" stroke-width=\"2\"/>\n",
+                    points.toString().strip(), color));
+            int legendY = TOP + 10 + s * 18;
+            svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"%s\" stroke-width=\"2\"/>\n",
+                    WIDTH - RIGHT + 15, legendY, WIDTH - RIGHT + 35, legendY, color));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">%s</text>\n", WIDTH - RIGHT + 40, legendY + 4, escape(series.name())));
+        }
+    }
+
+    /**
+     * @return the smallest and largest positive value, widened to whole powers of ten
+     */
+    static double[] range(List<double[]> values) {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (double[] array : values) {
+            for (double value : array) {
+                if (value > 0) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+        }
+        if (max == 0) {
+            return new double[]{1, 10};
+        }
+        double low = Math.pow(10, Math.floor(Math.log10(min)));
+        double high = Math.pow(10, Math.ceil(Math.log10(max)));
+        return new double[]{low, high > low ? high : low * 10};
+    }
+
+    private static List<Double> decades(double[] range) {
+        List<Double> ticks = new ArrayList<>();
+        for (double tick = range[0]; tick <= range[1] * 1.0001; tick *= 10) {
+            ticks.add(tick);
+        }
+        return ticks;
+    }
+
+    private static double scale(double value, double[] range) {
+        return (Math.log10(value) - Math.log10(range[0])) / (Math.log10(range[1]) - Math.log10(range[0]));
+    }
+
+    /**
+     * Decimal units, to match the power-of-ten ticks.
+     */
+    static String bytes(double value) {
+        if (value >= 1e6) {
+            return trim(value / 1e6) + " MB";
+        }
+        if (value >= 1e3) {
+            return trim(value / 1e3) + " kB";
+        }
+        return trim(value) + " B";
+    }
+
+    static String number(double value) {
+        return value >= 1_000_000 ? trim(value / 1_000_000) + "M" : value >= 1_000 ? trim(value / 1_000) + "k" : trim(value);
+    }
+
+    private static String trim(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.2g", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,41 @@
+package load;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SvgChartTest {
+    @Test
+    void rangeWidensToWholeDecades() {
+        assertArrayEquals(new double[]{100, 10_000}, SvgChart.range(List.of(new double[]{143, 4_200}, new double[]{0, -1})), 1e-9);
+        assertArrayEquals(new double[]{1, 10}, SvgChart.range(List.of(new double[]{0})), 1e-9);
+        assertArrayEquals(new double[]{100, 1_000}, SvgChart.range(List.of(new double[]{100})), 1e-9);
+    }
+
+    @Test
+    void rendersOneLinePerSeriesAsValidSvg() throws Exception {
+        String svg = new SvgChart("POST <pet> & PUT", "body size", SvgChart::bytes)
+                .panel("p99 latency (ms)", SvgChart::number, List.of(
+                        new SvgChart.Series("POST name_length", new double[]{143, 4_238, 262_286}, new double[]{12, 14, 45}),
+                        new SvgChart.Series("PUT tags", new double[]{146, 28_622}, new double[]{0, 27})))
+                .panel("throughput (requests/s)", SvgChart::number, List.of(
+                        new SvgChart.Series("POST name_length", new double[]{143}, new double[]{540})))
+                .render();
+
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(3, document.getElementsByTagName("polyline").getLength());
+        // The zero latency cannot go on a log axis.
+        assertEquals(3 + 1 + 1, document.getElementsByTagName("circle").getLength());
+        assertEquals("1 MB", SvgChart.bytes(1e6));
+        assertEquals("10 kB", SvgChart.bytes(1e4));
+        assertEquals("1.5k", SvgChart.number(1_500));
+    }
+}
@@ -0,0 +1,38 @@
+package load;
+
+import java.util.Locale;
+
+/**
+ * One point of a {@link PayloadSweep}: a payload of {@code bodyBytes} bytes, sent
+ * {@code requests} times. {@code throughput} counts the requests answered with 200 per
+ * second. Latencies are in milliseconds. {@code allocatedBytesPerRequest}
+ * counts everything the sending threads allocated, from building the body to reading
+ * the response, and is -1 when the JVM cannot measure it.
+ */
+public record SweepPoint(PayloadSweep.Axis axis, String method, int size, long bodyBytes, long requests,
+                         long errors, long rejected, double throughput, double p50, double p90, double p99,
+                         double max, long allocatedBytesPerRequest) {
+
+    public static final String CSV_HEADER = "axis,method,size,body_bytes,requests,errors,rejected,"
+            + "throughput_rps,throughput_mb_per_s,p50_ms,p90_ms,p99_ms,max_ms,allocated_bytes_per_request";
+
+    /**
+     * @return requests that got a response other than 200 or no response at all
+     */
+    public long failures() {
+        return errors + rejected;
+    }
+
+    public String toCsvLine() {
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%d",
+                axis.getLabel(), method, size, bodyBytes, requests, errors, rejected, throughput,
+                throughput * bodyBytes / 1e6, p50, p90, p99, max, allocatedBytesPerRequest);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s %s=%d (%d B): %.1f req/s, p50=%.2f ms, p99=%.2f ms, max=%.2f ms, "
+                        + "%d B allocated per request, %d errors, %d rejected",
+                method, axis.getLabel(), size, bodyBytes, throughput, p50, p99, max, allocatedBytesPerRequest, errors, rejected);
+    }
+}
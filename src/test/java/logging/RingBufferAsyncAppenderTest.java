@@ -0,0 +1,120 @@
+package logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("logging.test");
+
+    @Test
+    void forwardsEveryEventInOrder() {
+        CollectingAppender sink = new CollectingAppender(null);
+        RingBufferAsyncAppender async = start(sink, 16, DiscardPolicy.BLOCK);
+
+        for (int i = 0; i < 1000; i++) {
+            logger.info("event {}", i);
+        }
+        async.stop();
+
+        assertEquals(1000, sink.events.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("event " + i, sink.events.get(i).getFormattedMessage());
+        }
+        assertEquals(0, async.getDiscardedCount());
+    }
+
+    @Test
+    void discardsInfoButKeepsWarningsWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CollectingAppender sink = new CollectingAppender(release);
+        RingBufferAsyncAppender async = start(sink, 4, DiscardPolicy.DISCARD_BELOW_WARN);
+
+        for (int i = 0; i < 100; i++) {
+            logger.info("dropped {}", i);
+        }
+        Thread warner = new Thread(() -> logger.warn("kept"));
+        warner.start();
+        release.countDown();
+        warner.join(5000);
+        async.stop();
+
+        assertTrue(async.getDiscardedCount() > 0);
+        assertEquals(100, async.getDiscardedCount() + sink.events.stream().filter(e -> e.getLevel() == Level.INFO).count());
+        assertTrue(sink.events.stream().anyMatch(e -> e.getFormattedMessage().equals("kept")));
+    }
+
+    @Test
+    void encodesEventsAsJsonLines() {
+        LoggingEvent event = new LoggingEvent(getClass().getName(), logger, Level.ERROR,
+                "quote \" backslash \\ tab \t newline \n control \u0001 emoji 🐾", null, null);
+        event.setTimeStamp(1_760_659_200_000L);
+        event.setThreadName("worker-1");
+
+        JsonEncoder encoder = new JsonEncoder();
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        assertTrue(line.endsWith(System.lineSeparator()));
+        JsonObject json = JsonParser.parseString(line).getAsJsonObject();
+        assertEquals(1_760_659_200_000L, json.get("ts").getAsLong());
+        assertEquals("ERROR", json.get("level").getAsString());
+        assertEquals("worker-1", json.get("thread").getAsString());
+        assertEquals("logging.test", json.get("logger").getAsString());
+        assertEquals(event.getFormattedMessage(), json.get("msg").getAsString());
+    }
+
+    private RingBufferAsyncAppender start(CollectingAppender sink, int bufferSize, DiscardPolicy policy) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        sink.setContext(context);
+        sink.start();
+        RingBufferAsyncAppender async = new RingBufferAsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.setBufferSize(bufferSize);
+        async.setDiscardPolicy(policy);
+        async.setMaxFlushMillis(5000);
+        async.addAppender(sink);
+        async.start();
+        logger.setAdditive(false);
+        logger.addAppender(async);
+        return async;
+    }
+
+    private static class CollectingAppender extends AppenderBase<ILoggingEvent> {
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+
+        CollectingAppender(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+        }
+    }
+}
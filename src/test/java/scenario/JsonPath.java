@@ -0,0 +1,106 @@
+package scenario;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A dotted path into a JSON tree, such as {@code name}, {@code category.id} or
+ * {@code tags[0].name}.
+ */
+final class JsonPath {
+    private final String text;
+    private final List<Object> segments;
+
+    private JsonPath(String text, List<Object> segments) {
+        this.text = text;
+        this.segments = segments;
+    }
+
+    static JsonPath parse(String text) {
+        List<Object> segments = new ArrayList<>();
+        for (String part : text.split("\\.", -1)) {
+            int bracket = part.indexOf('[');
+            String name = bracket < 0 ? part : part.substring(0, bracket);
+            if (!name.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+                throw new IllegalArgumentException("Bad path '" + text + "'");
+            }
+            segments.add(name);
+            while (bracket >= 0) {
+                int close = part.indexOf(']', bracket);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Bad path '" + text + "'");
+                }
+                try {
+                    segments.add(Integer.parseInt(part.substring(bracket + 1, close)));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Bad index in path '" + text + "'");
+                }
+                bracket = part.indexOf('[', close);
+                if (bracket < 0 && close != part.length() - 1) {
+                    throw new IllegalArgumentException("Bad path '" + text + "'");
+                }
+            }
+        }
+        return new JsonPath(text, List.copyOf(segments));
+    }
+
+    /**
+     * @return the value at this path, or {@code null} if any part of it is missing
+     */
+    JsonElement get(JsonElement root) {
+        JsonElement current = root;
+        for (Object segment : segments) {
+            current = child(current, segment);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replaces the value at this path. Everything but the last segment must already exist.
+     */
+    void set(JsonElement root, JsonElement value) {
+        JsonElement parent = root;
+        for (Object segment : segments.subList(0, segments.size() - 1)) {
+            parent = child(parent, segment);
+            if (parent == null) {
+                throw new IllegalArgumentException("'" + text + "' does not exist in the base pet");
+            }
+        }
+        Object last = segments.get(segments.size() - 1);
+        if (last instanceof String && parent.isJsonObject()) {
+            parent.getAsJsonObject().add((String) last, value);
+        } else if (last instanceof Integer && parent.isJsonArray() && (Integer) last < parent.getAsJsonArray().size()) {
+            parent.getAsJsonArray().set((Integer) last, value);
+        } else {
+            throw new IllegalArgumentException("'" + text + "' does not exist in the base pet");
+        }
+    }
+
+    private static JsonElement child(JsonElement parent, Object segment) {
+        if (segment instanceof String) {
+            if (!parent.isJsonObject()) {
+                return null;
+            }
+            JsonObject object = parent.getAsJsonObject();
+            return object.get((String) segment);
+        }
+        if (!parent.isJsonArray()) {
+            return null;
+        }
+        JsonArray array = parent.getAsJsonArray();
+        int index = (Integer) segment;
+        return index < array.size() ? array.get(index) : null;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,101 @@
+package scenario;
+
+import com.google.gson.JsonElement;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One compiled row of a scenario file: the request to send, already serialized, and
+ * what the response must look like.
+ */
+public final class Scenario {
+    /**
+     * A field the response body must contain, compared as JSON.
+     */
+    record Check(JsonPath path, JsonElement expected) {
+        @Override
+        public String toString() {
+            return path + " = " + expected;
+        }
+    }
+
+    private final String name;
+    private final String source;
+    private final String method;
+    private final String mutations;
+    private final byte[] body;
+    private final Long petId;
+    private final Set<Integer> statuses;
+    private final List<Check> checks;
+    private final boolean reportOnly;
+
+    Scenario(String name, String source, String method, String mutations, byte[] body, Long petId,
+             Set<Integer> statuses, List<Check> checks, boolean reportOnly) {
+        this.name = name;
+        this.source = source;
+        this.method = method;
+        this.mutations = mutations;
+        this.body = body;
+        this.petId = petId;
+        this.statuses = Set.copyOf(statuses);
+        this.checks = List.copyOf(checks);
+        this.reportOnly = reportOnly;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return {@code file:line} of the row the scenario was compiled from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getMutations() {
+        return mutations;
+    }
+
+    public String getBody() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    public Set<Integer> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * With {@code mode = report}, a mismatch is marked as failed in the report but does
+     * not fail the build. This is for known defects of the public service.
+     */
+    public boolean isReportOnly() {
+        return reportOnly;
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    /**
+     * @return the id in {@link #body()}, or {@code null} if it has no numeric one
+     */
+    Long petId() {
+        return petId;
+    }
+
+    List<Check> checks() {
+        return checks;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + source + ")";
+    }
+}
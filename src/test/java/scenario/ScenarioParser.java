@@ -0,0 +1,246 @@
+package scenario;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the scenario file format:
+ * <pre>
+ * # comment
+ * method: POST
+ * base: {"name":"Miffy","status":"available"}
+ *
+ * | name                  | mutations          | status   | checks           | mode   |
+ * |-----------------------|--------------------|----------|------------------|--------|
+ * | Sold status           | status = "sold"    | 200      | status = "sold"  | assert |
+ * | Null status           | status = null      | 400, 405 |                  | report |
+ * </pre>
+ * Mutations and checks are {@code ;}-separated {@code path = value} pairs. A value is a
+ * JSON literal or {@code repeat("A", 300)}. The mutation {@code body = ...} sends the rest
+ * of the cell verbatim instead of the base pet, so it can be malformed. Literal
+ * {@code |} inside a cell is written {@code \|}. Unless the base pet has an id, each row
+ * gets a new one, so rows never write the same pet.
+ */
+final class ScenarioParser {
+    private static final List<String> COLUMNS = List.of("name", "mutations", "status", "checks", "mode");
+    private static final Pattern REPEAT = Pattern.compile("repeat\\((\"(?:[^\"\\\\]|\\\\.)*\")\\s*,\\s*(\\d+)\\)");
+    private static final Gson gson = new GsonBuilder().serializeNulls().disableHtmlEscaping().create();
+
+    private ScenarioParser() {
+    }
+
+    /**
+     * @param ids gives each row its own pet id when the base pet has none, or {@code null}
+     */
+    static List<Scenario> parse(String file, List<String> lines, LongSupplier ids) {
+        String method = null;
+        JsonElement base = null;
+        boolean header = false;
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            String source = file + ":" + (i + 1);
+            try {
+                if (line.isEmpty() || line.startsWith("#") || line.matches("\\|[\\s|:-]+\\|")) {
+                    continue;
+                }
+                if (line.startsWith("method:")) {
+                    method = line.substring("method:".length()).strip().toUpperCase();
+                    if (!method.equals("POST") && !method.equals("PUT")) {
+                        throw new IllegalArgumentException("method must be POST or PUT");
+                    }
+                } else if (line.startsWith("base:")) {
+                    base = literal(line.substring("base:".length()).strip());
+                    if (!base.isJsonObject()) {
+                        throw new IllegalArgumentException("base must be a JSON object");
+                    }
+                } else if (line.startsWith("|")) {
+                    List<String> cells = cells(line);
+                    if (!header) {
+                        if (!cells.equals(COLUMNS)) {
+                            throw new IllegalArgumentException("table header must be " + COLUMNS);
+                        }
+                        header = true;
+                        continue;
+                    }
+                    if (method == null || base == null) {
+                        throw new IllegalArgumentException("method and base must come before the table");
+                    }
+                    scenarios.add(row(source, method, base, cells, ids));
+                } else {
+                    throw new IllegalArgumentException("expected a directive or a table row");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + ": " + e.getMessage(), e);
+            }
+        }
+        return scenarios;
+    }
+
+    private static Scenario row(String source, String method, JsonElement base, List<String> cells, LongSupplier ids) {
+        if (cells.size() != COLUMNS.size()) {
+            throw new IllegalArgumentException("expected " + COLUMNS.size() + " cells, found " + cells.size());
+        }
+        String name = cells.get(0);
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("scenario has no name");
+        }
+
+        JsonElement pet = base.deepCopy();
+        if (ids != null && !pet.getAsJsonObject().has("id")) {
+            pet.getAsJsonObject().addProperty("id", ids.getAsLong());
+        }
+        String rawBody = null;
+        for (String mutation : split(cells.get(1))) {
+            int equals = mutation.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("mutation '" + mutation + "' is not path = value");
+            }
+            String path = mutation.substring(0, equals).strip();
+            String value = mutation.substring(equals + 1).strip();
+            if (path.equals("body")) {
+                rawBody = value;
+            } else {
+                JsonPath.parse(path).set(pet, value(value));
+            }
+        }
+        byte[] body = (rawBody != null ? rawBody : gson.toJson(pet)).getBytes(StandardCharsets.UTF_8);
+        Long petId = rawBody != null ? null : petId(pet);
+
+        Set<Integer> statuses = new LinkedHashSet<>();
+        for (String status : cells.get(2).split(",")) {
+            try {
+                statuses.add(Integer.parseInt(status.strip()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("status '" + cells.get(2) + "' is not a list of status codes");
+            }
+        }
+
+        List<Scenario.Check> checks = new ArrayList<>();
+        for (String check : split(cells.get(3))) {
+            int equals = check.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("check '" + check + "' is not path = value");
+            }
+            checks.add(new Scenario.Check(JsonPath.parse(check.substring(0, equals).strip()), value(check.substring(equals + 1).strip())));
+        }
+
+        String mode = cells.get(4).isEmpty() ? "assert" : cells.get(4);
+        if (!mode.equals("assert") && !mode.equals("report")) {
+            throw new IllegalArgumentException("mode must be assert or report, was '" + mode + "'");
+        }
+        return new Scenario(name, source, method, cells.get(1), body, petId, statuses, checks, mode.equals("report"));
+    }
+
+    /**
+     * The pet's id after the mutations, if it is still a number that fits a long.
+     */
+    private static Long petId(JsonElement pet) {
+        JsonElement id = pet.getAsJsonObject().get("id");
+        if (id == null || !id.isJsonPrimitive() || !id.getAsJsonPrimitive().isNumber()) {
+            return null;
+        }
+        try {
+            return id.getAsBigDecimal().longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static JsonElement value(String text) {
+        Matcher repeat = REPEAT.matcher(text);
+        if (repeat.matches()) {
+            String unit = JsonParser.parseString(repeat.group(1)).getAsString();
+            return new JsonPrimitive(unit.repeat(Integer.parseInt(repeat.group(2))));
+        }
+        return literal(text);
+    }
+
+    /**
+     * Parses strict JSON, so that a forgotten pair of quotes is an error instead of a string.
+     */
+    private static JsonElement literal(String text) {
+        try {
+            JsonReader reader = new JsonReader(new StringReader(text));
+            JsonElement value = gson.getAdapter(JsonElement.class).read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new IllegalArgumentException("trailing text after JSON value: " + text);
+            }
+            return value;
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e;
+            }
+            throw new IllegalArgumentException("not a JSON value: " + text);
+        }
+    }
+
+    private static List<String> cells(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        for (int i = 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length() && line.charAt(i + 1) == '|') {
+                cell.append('|');
+                i++;
+            } else if (c == '|') {
+                cells.add(cell.toString().strip());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (!cell.toString().isBlank()) {
+            throw new IllegalArgumentException("table row must end with |");
+        }
+        return cells;
+    }
+
+    /**
+     * Splits on {@code ;} outside of strings, brackets and parentheses.
+     */
+    private static List<String> split(String cell) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < cell.length(); i++) {
+            char c = cell.charAt(i);
+            if (quoted) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == '{' || c == '[' || c == '(') {
+                depth++;
+            } else if (c == '}' || c == ']' || c == ')') {
+                depth--;
+            } else if (c == ';' && depth == 0) {
+                parts.add(cell.substring(start, i).strip());
+                start = i + 1;
+            }
+        }
+        parts.add(cell.substring(start).strip());
+        parts.removeIf(String::isEmpty);
+        return parts;
+    }
+}
@@ -0,0 +1,54 @@
+package scenario;
+
+import utils.PetIds;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every scenario of a set of files, compiled before anything is sent. A mistake in any
+ * file fails the compile with its {@code file:line}, and the requests are serialized
+ * once here rather than while the runner is timing them.
+ */
+public final class ScenarioPlan {
+    private final List<Scenario> scenarios;
+
+    private ScenarioPlan(List<Scenario> scenarios) {
+        this.scenarios = List.copyOf(scenarios);
+    }
+
+    /**
+     * @param resources class path resources, e.g. {@code scenarios/create-pet.scenarios}
+     */
+    public static ScenarioPlan compile(String... resources) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String resource : resources) {
+            try (InputStream in = ScenarioPlan.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Scenario file not found on the class path: " + resource);
+                }
+                String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                scenarios.addAll(ScenarioParser.parse(resource, text.lines().toList(), PetIds::next));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read " + resource, e);
+            }
+        }
+        return new ScenarioPlan(scenarios);
+    }
+
+    static ScenarioPlan of(String file, String text) {
+        return new ScenarioPlan(ScenarioParser.parse(file, text.lines().toList(), null));
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    public int size() {
+        return scenarios.size();
+    }
+}
@@ -0,0 +1,72 @@
+package scenario;
+
+import io.restassured.builder.ResponseBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScenarioPlanTest {
+    private static final String HEADER = "method: PUT\n"
+            + "base: {\"category\":{\"id\":1},\"name\":\"Miffy\",\"tags\":[{\"id\":1,\"name\":\"Mammal\"}]}\n"
+            + "| name | mutations | status | checks | mode |\n"
+            + "|------|-----------|--------|--------|------|\n";
+
+    @Test
+    void rowsCompileToSerializedRequests() {
+        ScenarioPlan plan = ScenarioPlan.of("test.scenarios", HEADER
+                + "| nested | category.id = -1; tags[0].name = \"a;b\\|c\" | 400, 405 | name = \"Miffy\" | report |\n"
+                + "| long name | name = repeat(\"ab\", 3) | 200 | | |\n"
+                + "| raw | body = {\"name\": | 400 | | assert |\n");
+
+        assertEquals(3, plan.size());
+        Scenario nested = plan.getScenarios().get(0);
+        assertEquals("PUT", nested.getMethod());
+        assertEquals("test.scenarios:5", nested.getSource());
+        assertEquals("{\"category\":{\"id\":-1},\"name\":\"Miffy\",\"tags\":[{\"id\":1,\"name\":\"a;b|c\"}]}", nested.getBody());
+        assertEquals(Set.of(400, 405), nested.getStatuses());
+        assertTrue(nested.isReportOnly());
+        assertEquals("{\"category\":{\"id\":1},\"name\":\"ababab\",\"tags\":[{\"id\":1,\"name\":\"Mammal\"}]}", plan.getScenarios().get(1).getBody());
+        assertFalse(plan.getScenarios().get(1).isReportOnly());
+        assertEquals("{\"name\":", plan.getScenarios().get(2).getBody());
+    }
+
+    @Test
+    void mistakesNameTheLine() {
+        IllegalArgumentException unquoted = assertThrows(IllegalArgumentException.class,
+                () -> ScenarioPlan.of("bad.scenarios", HEADER + "| unquoted | status = sold | 200 | | |\n"));
+        assertTrue(unquoted.getMessage().startsWith("bad.scenarios:5: not a JSON value"), unquoted.getMessage());
+
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> ScenarioPlan.of("bad.scenarios", HEADER + "| missing | owner.id = 1 | 200 | | |\n"));
+        assertTrue(missing.getMessage().contains("'owner.id' does not exist"), missing.getMessage());
+
+        IllegalArgumentException status = assertThrows(IllegalArgumentException.class,
+                () -> ScenarioPlan.of("bad.scenarios", HEADER + "| status | name = \"x\" | OK | | |\n"));
+        assertTrue(status.getMessage().startsWith("bad.scenarios:5:"), status.getMessage());
+    }
+
+    @Test
+    void runnerChecksStatusAndFields() throws InterruptedException {
+        ScenarioPlan plan = ScenarioPlan.of("test.scenarios", HEADER
+                + "| echoed | name = \"Fluffy\" | 200 | name = \"Fluffy\"; tags[0].id = 1 | |\n"
+                + "| wrong field | name = \"Fluffy\" | 200 | name = \"Miffy\" | |\n"
+                + "| wrong status | name = \"Fluffy\" | 400 | | |\n");
+        ScenarioRunner runner = new ScenarioRunner(4, scenario -> new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(scenario.getBody())
+                .build());
+
+        List<ScenarioResult> results = runner.run(plan);
+
+        assertTrue(results.get(0).passed(), results.get(0).mismatches().toString());
+        assertEquals(List.of("expected name = \"Miffy\", but got \"Fluffy\""), results.get(1).mismatches());
+        assertEquals(List.of("expected status 400, but got 200"), results.get(2).mismatches());
+    }
+}
@@ -0,0 +1,13 @@
+package scenario;
+
+import java.util.List;
+
+/**
+ * What happened when a {@link Scenario} ran. {@code mismatches} is empty when the
+ * response met every expectation.
+ */
+public record ScenarioResult(Scenario scenario, int statusCode, String body, List<String> mismatches, long nanos) {
+    public boolean passed() {
+        return mismatches.isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package scenario;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.restassured.response.Response;
+import utils.PetStoreClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs a {@link ScenarioPlan} on a fixed pool of threads, all sending through the shared
+ * {@link PetStoreClient}. Scenarios do not depend on each other, so adding more of them
+ * costs about their request time divided by {@code parallelism}.
+ */
+public class ScenarioRunner {
+    private final int parallelism;
+    private final Function<Scenario, Response> send;
+
+    public ScenarioRunner(int parallelism) {
+        this(parallelism, ScenarioRunner::send);
+    }
+
+    ScenarioRunner(int parallelism, Function<Scenario, Response> send) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.send = send;
+    }
+
+    /**
+     * @return one result per scenario, in plan order
+     */
+    public List<ScenarioResult> run(ScenarioPlan plan) throws InterruptedException {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, plan.size())), task -> {
+            Thread thread = new Thread(task, "scenario-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<ScenarioResult>> futures = new ArrayList<>(plan.size());
+            for (Scenario scenario : plan.getScenarios()) {
+                futures.add(executor.submit(() -> execute(scenario)));
+            }
+            List<ScenarioResult> results = new ArrayList<>(futures.size());
+            for (Future<ScenarioResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Scenario runner failed", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ScenarioResult execute(Scenario scenario) {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = send.apply(scenario);
+        } catch (RuntimeException e) {
+            return new ScenarioResult(scenario, -1, null,
+                    List.of("request failed: " + e.getClass().getSimpleName() + ": " + e.getMessage()),
+                    System.nanoTime() - start);
+        }
+        long nanos = System.nanoTime() - start;
+        int status = response.getStatusCode();
+        String body = response.asString();
+
+        List<String> mismatches = new ArrayList<>();
+        if (!scenario.getStatuses().contains(status)) {
+            mismatches.add("expected status " + describe(scenario) + ", but got " + status);
+        } else if (!scenario.checks().isEmpty()) {
+            JsonElement json = parse(body);
+            for (Scenario.Check check : scenario.checks()) {
+                JsonElement actual = json == null ? null : check.path().get(json);
+                if (!check.expected().equals(actual)) {
+                    mismatches.add("expected " + check + ", but got " + actual);
+                }
+            }
+        }
+        return new ScenarioResult(scenario, status, body, List.copyOf(mismatches), nanos);
+    }
+
+    private static Response send(Scenario scenario) {
+        return scenario.getMethod().equals("POST")
+                ? PetStoreClient.createPet(scenario.body(), scenario.petId())
+                : PetStoreClient.updatePet(scenario.body(), scenario.petId());
+    }
+
+    private static String describe(Scenario scenario) {
+        return scenario.getStatuses().size() == 1
+                ? String.valueOf(scenario.getStatuses().iterator().next())
+                : "one of " + scenario.getStatuses();
+    }
+
+    private static JsonElement parse(String body) {
+        try {
+            return body == null || body.isBlank() ? null : JsonParser.parseString(body);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+}
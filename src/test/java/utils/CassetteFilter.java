@@ -0,0 +1,167 @@
+package utils;
+
+import com.example.petstore.cassette.Cassette;
+import com.example.petstore.cassette.CassetteEntry;
+import com.example.petstore.cassette.CassetteWriter;
+import config.ConfigReader;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Record and replay for {@link PetStoreClient}, picked by {@code cassette_mode}:
+ * <ul>
+ *     <li>{@code record} sends requests as usual and appends every response to
+ *     {@code cassette_file}. The index is written when the JVM exits.</li>
+ *     <li>{@code replay} answers every request from {@code cassette_file} without
+ *     connecting anywhere, so the stub server is not started either. A request that
+ *     was never recorded fails.</li>
+ * </ul>
+ * Requests are matched on method, path, query and body, not on host, so a cassette
+ * recorded against the stub replays against any {@code base_url}. Only the status code,
+ * {@code Content-Type} and body of a response are kept. A replayed body is handed to
+ * RestAssured as a stream over the mapped cassette, which RestAssured copies into an
+ * array the first time the test reads the body.
+ */
+public class CassetteFilter implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(CassetteFilter.class);
+
+    private static CassetteFilter instance;
+
+    private final CassetteWriter writer;
+    private final Cassette cassette;
+    private final Path file;
+
+    private CassetteFilter(CassetteWriter writer, Cassette cassette, Path file) {
+        this.writer = writer;
+        this.cassette = cassette;
+        this.file = file;
+    }
+
+    /**
+     * @return the filter for the configured mode, or {@code null} when
+     * {@code cassette_mode} is {@code off}
+     */
+    public static synchronized CassetteFilter fromConfig() {
+        if (instance == null) {
+            instance = create(ConfigReader.getCassetteMode(), Paths.get(ConfigReader.getCassetteFile()));
+        }
+        return instance;
+    }
+
+    public static boolean isReplaying() {
+        return "replay".equalsIgnoreCase(ConfigReader.getCassetteMode());
+    }
+
+    private static CassetteFilter create(String mode, Path file) {
+        try {
+            switch (mode.toLowerCase()) {
+                case "off":
+                    return null;
+                case "record":
+                    CassetteFilter recorder = record(file);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        try {
+                            recorder.close();
+                        } catch (IOException e) {
+                            System.err.println("Failed to finish cassette " + file + ": " + e.getMessage());
+                        }
+                    }, "cassette-writer"));
+                    logger.info("Recording exchanges to {}", file);
+                    return recorder;
+                case "replay":
+                    CassetteFilter player = replay(file);
+                    logger.info("Replaying {} recorded exchanges from {}", player.cassette.size(), file);
+                    return player;
+                default:
+                    throw new IllegalStateException("cassette_mode must be off, record or replay, was '" + mode + "'");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open cassette " + file, e);
+        }
+    }
+
+    /**
+     * A recording filter of its own, for tests of recording itself. The cassette is only
+     * complete once {@link #close()} has run.
+     */
+    static CassetteFilter record(Path file) throws IOException {
+        return new CassetteFilter(CassetteWriter.create(file), null, file);
+    }
+
+    static CassetteFilter replay(Path file) throws IOException {
+        return new CassetteFilter(null, Cassette.open(file), file);
+    }
+
+    /**
+     * Writes the index of a recording; does nothing when replaying.
+     */
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long requestHash = Cassette.requestHash(requestSpec.getMethod(), pathAndQuery(requestSpec), body(requestSpec));
+        if (cassette != null) {
+            CassetteEntry entry = cassette.next(requestHash);
+            if (entry == null) {
+                throw new IllegalStateException("No recorded response for " + requestSpec.getMethod() + " "
+                        + pathAndQuery(requestSpec) + " in " + file);
+            }
+            ResponseBuilder response = new ResponseBuilder()
+                    .setStatusCode(entry.statusCode())
+                    .setStatusLine("HTTP/1.1 " + entry.statusCode())
+                    .setBody(entry.bodyStream());
+            if (entry.contentType() != null) {
+                response.setContentType(entry.contentType());
+                response.setHeader("Content-Type", entry.contentType());
+            }
+            return response.build();
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        try {
+            writer.append(requestHash, response.getStatusCode(), response.getContentType(), response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record to " + file, e);
+        }
+        return response;
+    }
+
+    private static String pathAndQuery(FilterableRequestSpecification requestSpec) {
+        Map<String, String> query = new TreeMap<>(requestSpec.getQueryParams());
+        if (query.isEmpty()) {
+            return requestSpec.getDerivedPath();
+        }
+        StringBuilder path = new StringBuilder(requestSpec.getDerivedPath()).append('?');
+        query.forEach((name, value) -> path.append(name).append('=').append(value).append('&'));
+        return path.substring(0, path.length() - 1);
+    }
+
+    private static byte[] body(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package utils;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import workflow.Workflow;
+import workflow.WorkflowReport;
+import workflow.WorkflowScheduler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CassetteFilterTest {
+    private static final int CHAINS = 64;
+
+    @TempDir
+    Path directory;
+
+    private static Workflow lifecycle(RequestSpecification spec, long firstId) {
+        return Workflow.builder("recorded lifecycle")
+                .step("create", context -> {
+                    long id = firstId + context.getChain();
+                    String body = "{\"id\":" + id + ",\"name\":\"Miffy-" + context.getChain()
+                            + "\",\"photoUrls\":[],\"tags\":[],\"status\":\"available\"}";
+                    given().spec(spec).body(body.getBytes(StandardCharsets.UTF_8)).post("/pet").then().statusCode(200);
+                    context.put("id", id);
+                })
+                .step("get", List.of("create"), context ->
+                        given().spec(spec).get("/pet/{petId}", context.get("id", Long.class)).then().statusCode(200))
+                .step("delete", List.of("get"), context ->
+                        given().spec(spec).delete("/pet/{petId}", context.get("id", Long.class)).then().statusCode(200))
+                .step("get deleted", List.of("delete"), context ->
+                        given().spec(spec).get("/pet/{petId}", context.get("id", Long.class)).then().statusCode(404))
+                .build();
+    }
+
+    private static RequestSpecification spec(String baseUrl, CassetteFilter cassette) {
+        return new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setContentType(ContentType.JSON)
+                .addFilter(cassette)
+                .build();
+    }
+
+    private static WorkflowReport run(Workflow workflow, int parallelism) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new WorkflowScheduler(pool, parallelism * 2).run(workflow, CHAINS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentRunReplaysWithDifferentScheduling() throws IOException, InterruptedException {
+        Path file = directory.resolve("lifecycle.cassette");
+        // Leased once, as a fresh JVM would lease the same range for both runs.
+        long firstId = PetIds.lease(CHAINS);
+
+        PetStoreStubServer stub = PetStoreStubServer.start();
+        String baseUrl = stub.getBaseUrl();
+        CassetteFilter recorder = CassetteFilter.record(file);
+        try {
+            WorkflowReport recorded = run(lifecycle(spec(baseUrl, recorder), firstId), 4);
+            assertEquals(0, recorded.getFailedChains(), recorded.getFailures().toString());
+        } finally {
+            recorder.close();
+            stub.close();
+        }
+
+        // The stub is gone, so anything not answered from the cassette fails.
+        WorkflowReport replayed = run(lifecycle(spec(baseUrl, CassetteFilter.replay(file)), firstId), 2);
+        assertEquals(0, replayed.getFailedChains(), replayed.getFailures().toString());
+    }
+}
@@ -0,0 +1,27 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+/**
+ * Node backed directly by an {@link ExtentTest}. Extent's model is not thread-safe,
+ * so every log call is serialized on the shared report.
+ */
+public class ExtentReportNode extends ReportNode {
+    private final ExtentTest test;
+    private final Object lock;
+
+    public ExtentReportNode(String name, ExtentTest test, Object lock) {
+        super(name);
+        this.test = test;
+        this.lock = lock;
+    }
+
+    @Override
+    public ReportNode log(Status status, String details) {
+        synchronized (lock) {
+            test.log(status, details);
+        }
+        return this;
+    }
+}
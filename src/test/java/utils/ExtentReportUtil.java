@@ -1,17 +1,39 @@
 package utils;
 
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import config.ConfigReader;
+
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+/**
+ * Entry point for test reports. The {@code report_mode} setting picks the back end:
+ * <ul>
+ *     <li>{@code extent} (default) builds the ExtentReports model in memory and writes
+ *     the Spark report on every flush.</li>
+ *     <li>{@code streaming} hands every log line to a {@link StreamingReportWriter}, which
+ *     keeps memory flat for load and fuzz runs with tens of thousands of nodes.</li>
+ *     <li>{@code async} hands every log line to a {@link ReportEventCollector}, so
+ *     concurrent tests append to per-thread buffers instead of contending for the
+ *     model lock. The collector's thread owns the Extent model in this mode.</li>
+ * </ul>
+ */
 public class ExtentReportUtil {
+    private static final String TIMESTAMP = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+
     private static ExtentReports extent;
+    private static StreamingReportWriter streamingWriter;
+    private static ReportEventCollector collector;
+
+    private static final ThreadLocal<ReportNode> lastTest = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> quiet = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
     public static synchronized ExtentReports getExtentReports() {
         if (extent == null) {
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String reportPath = "target/ExtentReport_" + timestamp + ".html";
+            String reportPath = "target/ExtentReport_" + TIMESTAMP + ".html";
 
             ExtentSparkReporter spark = new ExtentSparkReporter(reportPath);
             extent = new ExtentReports();
@@ -20,9 +42,96 @@ public class ExtentReportUtil {
         return extent;
     }
 
-    public static synchronized void flushReports() {
-        if (extent != null) {
-            extent.flush();
+    public static synchronized StreamingReportWriter getStreamingWriter() {
+        if (streamingWriter == null) {
+            streamingWriter = new StreamingReportWriter(
+                    Paths.get("target/StreamingReport_" + TIMESTAMP + ".html"),
+                    Paths.get("target/report-chunks_" + TIMESTAMP),
+                    ConfigReader.getReportQueueCapacity(),
+                    ConfigReader.getReportChunkEvents());
+        }
+        return streamingWriter;
+    }
+
+    public static synchronized ReportEventCollector getCollector() {
+        if (collector == null) {
+            collector = new ReportEventCollector(getExtentReports(), ConfigReader.getReportQueueCapacity());
+        }
+        return collector;
+    }
+
+    public static ReportNode createTest(String name) {
+        if (quiet.get()) {
+            return new QuietReportNode(name);
+        }
+        ReportNode node = newTest(name);
+        lastTest.set(node);
+        return node;
+    }
+
+    private static ReportNode newTest(String name) {
+        String mode = ConfigReader.getReportMode();
+        if ("streaming".equalsIgnoreCase(mode)) {
+            return getStreamingWriter().createTest(name);
+        }
+        if ("async".equalsIgnoreCase(mode)) {
+            return getCollector().createTest(name);
+        }
+        ExtentReports reports = getExtentReports();
+        synchronized (reports) {
+            return new ExtentReportNode(name, reports.createTest(name), reports);
+        }
+    }
+
+    /**
+     * The node most recently created on this thread since {@link #clearLastTest()}.
+     */
+    static ReportNode lastTest() {
+        return lastTest.get();
+    }
+
+    static void clearLastTest() {
+        lastTest.remove();
+    }
+
+    /**
+     * While quiet, {@link #createTest(String)} returns nodes that drop everything logged
+     * to them, so a test can be repeated, e.g. by {@link LatencyBudget}, without adding
+     * a report node per run.
+     */
+    static void setQuiet(boolean enabled) {
+        quiet.set(enabled);
+    }
+
+    public static void flushReports() {
+        ExtentReports reports;
+        StreamingReportWriter writer;
+        ReportEventCollector events;
+        synchronized (ExtentReportUtil.class) {
+            reports = extent;
+            writer = streamingWriter;
+            events = collector;
+        }
+        if (events != null) {
+            events.flush();
+        } else if (reports != null) {
+            synchronized (reports) {
+                reports.flush();
+            }
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private static final class QuietReportNode extends ReportNode {
+        QuietReportNode(String name) {
+            super(name);
+        }
+
+        @Override
+        public ReportNode log(Status status, String details) {
+            return this;
         }
     }
 }
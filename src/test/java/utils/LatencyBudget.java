@@ -0,0 +1,45 @@
+package utils;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test, used instead of {@code @Test}, that fails when its requests are slower
+ * than a latency budget. After the test has passed once, it is run {@link #warmup()}
+ * more times and then {@link #samples()} more times while every request sent through
+ * {@link PetStoreClient} is timed. Each endpoint ({@code POST /pet},
+ * {@code GET /pet/{petId}}, ...) must stay within every budget that is set. Budgets are
+ * written as {@code "150ms"}, {@code "1.5s"}, {@code "800us"} or {@code "200000ns"}; an
+ * empty budget is not checked.
+ * <pre>
+ * &#64;LatencyBudget(p99 = "150ms", samples = 200)
+ * void addNewPet() { ... }
+ * </pre>
+ * The repeated runs log to the report quietly, and the percentiles are added to the
+ * report node the test created. Unless {@code latency_budget_enabled=true}, as set by
+ * the {@code latency} Maven profile, the test runs once without checking.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@ExtendWith(LatencyBudgetExtension.class)
+public @interface LatencyBudget {
+    String p50() default "";
+
+    String p90() default "";
+
+    String p99() default "";
+
+    String p999() default "";
+
+    String max() default "";
+
+    int samples() default 100;
+
+    int warmup() default 10;
+}
@@ -0,0 +1,268 @@
+package utils;
+
+import config.ConfigReader;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Runs the sampling for {@link LatencyBudget}. Like {@code @RepeatedTest}, every run is
+ * a test invocation of its own, with a new test instance, {@code @BeforeEach} and
+ * {@code @AfterEach} methods, other extensions and parameter resolution. The first run
+ * is the functional test; once a run fails, the rest are skipped. While a sampled run's
+ * test method executes, {@link PetStoreClient} reports the time of every exchange to
+ * {@link #record(String, long)}, and the budgets are checked after the last one.
+ */
+public class LatencyBudgetExtension implements TestTemplateInvocationContextProvider {
+    private static final Logger logger = LoggerFactory.getLogger(LatencyBudgetExtension.class);
+    private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(ns|us|ms|s)");
+    private static final ThreadLocal<Map<String, Histogram>> RECORDING = new ThreadLocal<>();
+
+    /**
+     * Adds one request to the histogram of {@code endpoint} if the current thread is
+     * sampling; otherwise does nothing.
+     */
+    static void record(String endpoint, long nanos) {
+        Map<String, Histogram> recording = RECORDING.get();
+        if (recording != null) {
+            recording.computeIfAbsent(endpoint, key -> new Histogram(3)).recordValue(nanos);
+        }
+    }
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return AnnotationSupport.isAnnotated(context.getTestMethod(), LatencyBudget.class);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        LatencyBudget budget = AnnotationSupport.findAnnotation(context.getTestMethod(), LatencyBudget.class)
+                .orElseThrow(() -> new ExtensionConfigurationException("@LatencyBudget not found on " + context.getRequiredTestMethod()));
+        Sampling sampling = new Sampling(context.getDisplayName(), budget, budgets(budget));
+        Stream<TestTemplateInvocationContext> test = Stream.of(new Run(sampling, "test", Run.Kind.TEST));
+        if (!ConfigReader.isLatencyBudgetEnabled()) {
+            return test;
+        }
+        logger.info("{}: {} warm-up and {} sampled runs", context.getDisplayName(), budget.warmup(), budget.samples());
+        return Stream.of(
+                test,
+                IntStream.rangeClosed(1, budget.warmup())
+                        .mapToObj(i -> new Run(sampling, "warm-up " + i + " of " + budget.warmup(), Run.Kind.WARMUP)),
+                IntStream.rangeClosed(1, budget.samples())
+                        .mapToObj(i -> new Run(sampling, "sample " + i + " of " + budget.samples(),
+                                i == budget.samples() ? Run.Kind.LAST_SAMPLE : Run.Kind.SAMPLE)))
+                .flatMap(runs -> runs);
+    }
+
+    /**
+     * State shared by the runs of one {@link LatencyBudget} test.
+     */
+    private static final class Sampling {
+        private final String displayName;
+        private final LatencyBudget budget;
+        private final List<Budget> budgets;
+        private final Map<String, Histogram> latencies = new TreeMap<>();
+        private volatile boolean failed;
+        private volatile ReportNode node;
+
+        Sampling(String displayName, LatencyBudget budget, List<Budget> budgets) {
+            this.displayName = displayName;
+            this.budget = budget;
+            this.budgets = budgets;
+        }
+
+        void check() {
+            ReportNode report = node != null ? node : ExtentReportUtil.createTest(displayName + " Latency Budget");
+            if (latencies.isEmpty()) {
+                report.fail("No requests were sent through PetStoreClient, so there is no latency to check");
+                throw new AssertionFailedError("No requests were sent through PetStoreClient during " + budget.samples() + " sampled runs");
+            }
+            List<String> violations = new ArrayList<>();
+            for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+                String endpoint = entry.getKey();
+                Histogram histogram = entry.getValue();
+                report.info(summary(endpoint, histogram));
+                for (Budget limit : budgets) {
+                    long actual = limit.valueOf(histogram);
+                    String line = endpoint + " " + limit.name + " " + formatMillis(actual) + " (budget " + limit.text + ")";
+                    if (actual > limit.nanos) {
+                        report.fail(line);
+                        violations.add(line);
+                    } else {
+                        report.pass(line);
+                    }
+                }
+            }
+            if (!violations.isEmpty()) {
+                throw new AssertionFailedError("Latency budget exceeded: " + String.join("; ", violations));
+            }
+        }
+    }
+
+    /**
+     * One invocation of a {@link LatencyBudget} test. Repeated runs log to the report
+     * quietly, and only the test method of a sampled run is timed, not its
+     * {@code @BeforeEach} and {@code @AfterEach} methods.
+     */
+    private static final class Run implements TestTemplateInvocationContext, ExecutionCondition, BeforeEachCallback,
+            BeforeTestExecutionCallback, AfterTestExecutionCallback, AfterEachCallback {
+        private enum Kind { TEST, WARMUP, SAMPLE, LAST_SAMPLE }
+
+        private final Sampling sampling;
+        private final String name;
+        private final Kind kind;
+
+        Run(Sampling sampling, String name, Kind kind) {
+            this.sampling = sampling;
+            this.name = name;
+            this.kind = kind;
+        }
+
+        @Override
+        public String getDisplayName(int invocationIndex) {
+            return name;
+        }
+
+        @Override
+        public List<Extension> getAdditionalExtensions() {
+            return List.of(this);
+        }
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            return sampling.failed
+                    ? ConditionEvaluationResult.disabled("An earlier run of the test failed")
+                    : ConditionEvaluationResult.enabled("No run of the test has failed");
+        }
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            if (kind == Kind.TEST) {
+                ExtentReportUtil.clearLastTest();
+            } else {
+                ExtentReportUtil.setQuiet(true);
+            }
+        }
+
+        @Override
+        public void beforeTestExecution(ExtensionContext context) {
+            if (kind == Kind.SAMPLE || kind == Kind.LAST_SAMPLE) {
+                RECORDING.set(sampling.latencies);
+            }
+        }
+
+        @Override
+        public void afterTestExecution(ExtensionContext context) {
+            RECORDING.remove();
+            if (context.getExecutionException().isPresent()) {
+                sampling.failed = true;
+                return;
+            }
+            if (kind == Kind.TEST) {
+                sampling.node = ExtentReportUtil.lastTest();
+            } else if (kind == Kind.LAST_SAMPLE) {
+                ExtentReportUtil.setQuiet(false);
+                sampling.check();
+            }
+        }
+
+        @Override
+        public void afterEach(ExtensionContext context) {
+            ExtentReportUtil.setQuiet(false);
+        }
+    }
+
+    private static String summary(String endpoint, Histogram histogram) {
+        return endpoint + ": " + histogram.getTotalCount() + " samples"
+                + ", p50=" + formatMillis(histogram.getValueAtPercentile(50.0))
+                + ", p90=" + formatMillis(histogram.getValueAtPercentile(90.0))
+                + ", p99=" + formatMillis(histogram.getValueAtPercentile(99.0))
+                + ", p99.9=" + formatMillis(histogram.getValueAtPercentile(99.9))
+                + ", max=" + formatMillis(histogram.getMaxValue());
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.2f ms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static List<Budget> budgets(LatencyBudget budget) {
+        if (budget.samples() < 1 || budget.warmup() < 0) {
+            throw new ExtensionConfigurationException("@LatencyBudget needs samples >= 1 and warmup >= 0");
+        }
+        List<Budget> budgets = new ArrayList<>();
+        addBudget(budgets, "p50", 50.0, budget.p50());
+        addBudget(budgets, "p90", 90.0, budget.p90());
+        addBudget(budgets, "p99", 99.0, budget.p99());
+        addBudget(budgets, "p99.9", 99.9, budget.p999());
+        addBudget(budgets, "max", 100.0, budget.max());
+        if (budgets.isEmpty()) {
+            throw new ExtensionConfigurationException("@LatencyBudget sets no budget");
+        }
+        return budgets;
+    }
+
+    private static void addBudget(List<Budget> budgets, String name, double percentile, String text) {
+        if (!text.isEmpty()) {
+            budgets.add(new Budget(name, percentile, text, parseNanos(name, text)));
+        }
+    }
+
+    private static long parseNanos(String name, String text) {
+        Matcher matcher = DURATION.matcher(text.trim());
+        if (!matcher.matches()) {
+            throw new ExtensionConfigurationException("@LatencyBudget " + name + " must look like 150ms, 1.5s, 800us or 200000ns, was '" + text + "'");
+        }
+        double value = Double.parseDouble(matcher.group(1));
+        switch (matcher.group(2)) {
+            case "s":
+                return (long) (value * TimeUnit.SECONDS.toNanos(1));
+            case "ms":
+                return (long) (value * TimeUnit.MILLISECONDS.toNanos(1));
+            case "us":
+                return (long) (value * TimeUnit.MICROSECONDS.toNanos(1));
+            default:
+                return (long) value;
+        }
+    }
+
+    private static final class Budget {
+        private final String name;
+        private final double percentile;
+        private final String text;
+        private final long nanos;
+
+        Budget(String name, double percentile, String text, long nanos) {
+            this.name = name;
+            this.percentile = percentile;
+            this.text = text;
+            this.nanos = nanos;
+        }
+
+        long valueOf(Histogram histogram) {
+            return percentile == 100.0 ? histogram.getMaxValue() : histogram.getValueAtPercentile(percentile);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package utils;
+
+import com.example.petstore.metrics.MetricsHttpServer;
+import com.example.petstore.metrics.MetricsRegistry;
+import config.ConfigReader;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Records every RestAssured request into {@link #REGISTRY}, by method and path template
+ * ({@code POST /pet}, {@code PUT /pet}, {@code GET /pet/{petId}}).
+ * <p>
+ * {@link #install()} registers the filter globally, once. It also exposes the metrics
+ * in the Prometheus text format: at {@code http://host:metrics_port/metrics} while
+ * the tests run, when {@code metrics_port} is set, and in {@code metrics_file} when
+ * the JVM exits.
+ */
+public class MetricsFilter implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsFilter.class);
+
+    public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    private static boolean installed;
+
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        RestAssured.filters(new MetricsFilter());
+
+        int port = ConfigReader.getMetricsPort();
+        if (port >= 0) {
+            MetricsHttpServer server = MetricsHttpServer.start(REGISTRY, port);
+            logger.info("Serving metrics at http://localhost:{}/metrics", server.getPort());
+        }
+        String file = ConfigReader.getMetricsFile();
+        if (!file.isBlank()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    REGISTRY.writeTo(Paths.get(file));
+                } catch (IOException e) {
+                    System.err.println("Failed to write metrics to " + file + ": " + e.getMessage());
+                }
+            }, "metrics-writer"));
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String route = requestSpec.getUserDefinedPath();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            REGISTRY.recordError(method, route, System.nanoTime() - start);
+            throw e;
+        }
+        REGISTRY.recordResponse(method, route, response.getStatusCode(), System.nanoTime() - start);
+        return response;
+    }
+}
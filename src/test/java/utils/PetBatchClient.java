@@ -0,0 +1,207 @@
+package utils;
+
+import com.example.petstore.dto.Pet;
+import com.example.petstore.json.PetJsonWriter;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import config.ConfigReader;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Creates many pets at once over {@link HttpClient} with HTTP/2. Up to
+ * {@code maxInFlight} {@code POST /pet} requests are outstanding at any time; each
+ * completion starts the next one, so no thread blocks while a batch runs. Over HTTP/2
+ * the requests share a few multiplexed connections. Servers that only speak HTTP/1.1,
+ * such as the in-process stub, get one connection per in-flight request instead.
+ */
+public class PetBatchClient {
+    private static final Gson gson = new Gson();
+
+    private final HttpClient httpClient;
+    private final URI petUri;
+    private final String apiKey;
+    private final int maxInFlight;
+
+    public PetBatchClient(String baseUrl, String apiKey, int maxInFlight) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.petUri = URI.create(baseUrl + "/pet");
+        this.apiKey = apiKey;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Client for the configured base URL with a {@code batch_max_in_flight} window.
+     */
+    public static PetBatchClient fromConfig() {
+        return new PetBatchClient(ConfigReader.getBaseUrl(), ConfigReader.getApiKey(), ConfigReader.getBatchMaxInFlight());
+    }
+
+    /**
+     * Posts every pet and completes once all of them have a result. Failed requests do not
+     * fail the future; they show up as results with {@link Result#getError()} set.
+     *
+     * @return one result per pet, in the order of {@code pets}
+     */
+    public CompletableFuture<List<Result>> createPets(List<Pet> pets) {
+        Batch batch = new Batch(pets);
+        for (int i = 0; i < Math.min(maxInFlight, pets.size()); i++) {
+            batch.startNext();
+        }
+        return batch.done;
+    }
+
+    private final class Batch {
+        private final List<Pet> pets;
+        private final AtomicReferenceArray<Result> results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final AtomicInteger pendingStarts = new AtomicInteger();
+        private final CompletableFuture<List<Result>> done = new CompletableFuture<>();
+
+        private Batch(List<Pet> pets) {
+            this.pets = pets;
+            this.results = new AtomicReferenceArray<>(pets.size());
+            this.remaining = new AtomicInteger(pets.size());
+            if (pets.isEmpty()) {
+                done.complete(List.of());
+            }
+        }
+
+        /**
+         * Requests that fail straight away complete inside {@code sendAsync}, which would
+         * otherwise recurse once per pet; only the outermost call sends, the others just
+         * leave it one more request to start.
+         */
+        private void startNext() {
+            if (pendingStarts.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                send();
+            } while (pendingStarts.decrementAndGet() != 0);
+        }
+
+        private void send() {
+            int index = next.getAndIncrement();
+            if (index >= pets.size()) {
+                return;
+            }
+            Pet pet = pets.get(index);
+            try {
+                HttpRequest request = HttpRequest.newBuilder(petUri)
+                        .header("api_key", apiKey)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(toJson(pet)))
+                        .build();
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                        .whenComplete((response, error) -> complete(index, pet, response, error));
+            } catch (RuntimeException e) {
+                // Thrown here, possibly inside another request's callback, it would be
+                // lost and the batch would never finish.
+                complete(index, pet, null, e);
+            }
+        }
+
+        private void complete(int index, Pet pet, HttpResponse<byte[]> response, Throwable error) {
+            results.set(index, error == null
+                    ? new Result(index, response.statusCode(), response.version(), parse(response.body()), null)
+                    : new Result(index, 0, null, null, error));
+            if (error == null && response.statusCode() == 200 && pet.getId() != null) {
+                PetIds.tracker().created(pet.getId());
+            }
+            if (remaining.decrementAndGet() == 0) {
+                Result[] all = new Result[pets.size()];
+                for (int i = 0; i < all.length; i++) {
+                    all[i] = results.get(i);
+                }
+                done.complete(Arrays.asList(all));
+            } else {
+                startNext();
+            }
+        }
+    }
+
+    private static byte[] toJson(Pet pet) {
+        ByteBuffer buffer = ByteBuffer.allocate(PetJsonWriter.encodedLength(pet));
+        PetJsonWriter.write(pet, buffer);
+        return buffer.array();
+    }
+
+    private static Pet parse(byte[] body) {
+        try {
+            return gson.fromJson(new String(body, StandardCharsets.UTF_8), Pet.class);
+        } catch (JsonParseException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Outcome of one {@code POST /pet} in a batch.
+     */
+    public static final class Result {
+        private final int index;
+        private final int statusCode;
+        private final HttpClient.Version version;
+        private final Pet pet;
+        private final Throwable error;
+
+        private Result(int index, int statusCode, HttpClient.Version version, Pet pet, Throwable error) {
+            this.index = index;
+            this.statusCode = statusCode;
+            this.version = version;
+            this.pet = pet;
+            this.error = error;
+        }
+
+        /**
+         * Position of the pet in the list passed to {@link #createPets(List)}.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * HTTP status, or 0 when the request failed without a response.
+         */
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * Protocol the response came back on; {@code null} when there was none.
+         */
+        public HttpClient.Version getVersion() {
+            return version;
+        }
+
+        /**
+         * The pet as returned by the server, or {@code null} if the body was not one.
+         */
+        public Pet getPet() {
+            return pet;
+        }
+
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null && statusCode == 200;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package utils;
+
+import com.example.petstore.dto.Pet;
+import config.ConfigReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(PetStoreStubExtension.class)
+public class PetBatchClientTest {
+    @Test
+    void petThatCannotBeSentFailsWithoutStallingTheBatch() throws ExecutionException, InterruptedException, TimeoutException {
+        // With one request in flight, the second pet is sent from the first one's callback.
+        PetBatchClient client = new PetBatchClient(ConfigReader.getBaseUrl(), ConfigReader.getApiKey(), 1);
+        List<Pet> pets = Arrays.asList(TestPets.newPet().build().toPet(), null, TestPets.newPet().build().toPet());
+
+        List<PetBatchClient.Result> results = client.createPets(pets).get(30, TimeUnit.SECONDS);
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(0, results.get(1).getStatusCode());
+        assertInstanceOf(NullPointerException.class, results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+    }
+}
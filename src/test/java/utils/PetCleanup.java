@@ -0,0 +1,36 @@
+package utils;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes every pet the run created and did not delete itself, when the run ends.
+ * {@link PetStoreStubExtension} registers it against a real server only, as the stub's
+ * pets go away with it anyway.
+ */
+public class PetCleanup implements ExtensionContext.Store.CloseableResource {
+    private static final Logger logger = LoggerFactory.getLogger(PetCleanup.class);
+
+    @Override
+    public void close() {
+        long[] ids = PetIds.tracker().live();
+        int deleted = 0;
+        int failed = 0;
+        for (long id : ids) {
+            try {
+                int status = PetStoreClient.deletePet(id).getStatusCode();
+                if (status == 200 || status == 404) {
+                    deleted++;
+                } else {
+                    failed++;
+                    logger.warn("Cleanup of pet {} returned status {}", id, status);
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                logger.warn("Cleanup of pet {} failed: {}", id, e.toString());
+            }
+        }
+        logger.info("Cleaned up {} pets created during the run, {} failed", deleted, failed);
+    }
+}
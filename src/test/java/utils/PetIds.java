@@ -0,0 +1,45 @@
+package utils;
+
+import com.example.petstore.id.PetIdAllocator;
+import com.example.petstore.id.PetIdTracker;
+import config.ConfigReader;
+
+/**
+ * The run's pet ids. Test code that builds a pet takes its id from {@link #next()}
+ * instead of leaving it to the server or hard-coding one, so concurrent tests never
+ * write the same pet. {@link PetStoreClient} records the pets in this range it writes or
+ * deletes in {@link #tracker()}, as do the clients that bypass it, and
+ * {@link PetCleanup} deletes the rest at the end of the run. Pets the server assigned an
+ * id to are not tracked.
+ * <p>
+ * The range is {@code pet_id_first} to {@code pet_id_last}. Runs against the same server
+ * at the same time need ranges that do not overlap.
+ */
+public final class PetIds {
+    private static final PetIdAllocator ALLOCATOR = new PetIdAllocator(
+            ConfigReader.getPetIdFirst(), ConfigReader.getPetIdLast(), ConfigReader.getPetIdBlockSize());
+    private static final PetIdTracker TRACKER = new PetIdTracker(ConfigReader.getPetIdFirst(), ConfigReader.getPetIdLast());
+
+    private PetIds() {
+    }
+
+    public static long next() {
+        return ALLOCATOR.next();
+    }
+
+    /**
+     * Leases {@code count} consecutive ids for work spread over a pool, such as one id per
+     * workflow chain. Call it on the test's own thread so that the ids, and with them the
+     * request bodies a cassette is keyed on, do not depend on how the pool schedules the
+     * work.
+     *
+     * @return the first of the ids
+     */
+    public static long lease(int count) {
+        return ALLOCATOR.lease(count);
+    }
+
+    public static PetIdTracker tracker() {
+        return TRACKER;
+    }
+}
@@ -0,0 +1,161 @@
+package utils;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+import com.example.petstore.value.CategoryValue;
+import com.example.petstore.value.PetValue;
+import com.example.petstore.value.TagValue;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.restassured.response.Response;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.function.Executable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * View over a {@code /pet} response that parses the body at most once. The parsed tree
+ * backs both the typed {@link Pet} and the pretty-printed body, and each of those is
+ * only built the first time someone asks for it.
+ */
+public class PetResponse {
+    private static final Gson gson = new Gson();
+    private static final Gson prettyGson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private final Response response;
+    private JsonElement json;
+    private boolean parsed;
+    private Pet pet;
+    private boolean petConverted;
+    private String prettyBody;
+
+    private PetResponse(Response response) {
+        this.response = response;
+    }
+
+    public static PetResponse of(Response response) {
+        return new PetResponse(response);
+    }
+
+    public Response getResponse() {
+        return response;
+    }
+
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    public String getHeader(String name) {
+        return response.getHeader(name);
+    }
+
+    public ValidatableResponse then() {
+        return response.then();
+    }
+
+    /**
+     * The body as a {@link Pet}, or {@code null} when it is not a JSON object
+     * (error responses, empty bodies).
+     */
+    public Pet getPet() {
+        if (!petConverted) {
+            JsonElement body = json();
+            if (body != null && body.isJsonObject()) {
+                try {
+                    pet = gson.fromJson(body, Pet.class);
+                } catch (JsonParseException ignored) {
+                    // not a pet, e.g. {"code":1,"type":"error","message":"Pet not found"}
+                }
+            }
+            petConverted = true;
+        }
+        return pet;
+    }
+
+    public String prettyBody() {
+        if (prettyBody == null) {
+            JsonElement body = json();
+            prettyBody = body != null ? prettyGson.toJson(body) : response.asString();
+        }
+        return prettyBody;
+    }
+
+    /**
+     * Checks every field of {@code expected} against the parsed body and reports all
+     * mismatches together. The ID is only compared when {@code expected} has one, since
+     * the server assigns it otherwise.
+     */
+    public PetResponse assertPetMatches(PetValue expected) {
+        Pet actual = getPet();
+        if (actual == null) {
+            throw new AssertionError("Expected a pet in the response body, but got: " + prettyBody());
+        }
+
+        CategoryValue category = expected.category();
+        List<Executable> assertions = new ArrayList<>();
+        if (expected.id() != null) {
+            assertions.add(() -> assertEquals(expected.id(), actual.getId(), "id"));
+        }
+        assertions.add(() -> assertEquals(expected.name(), actual.getName(), "name"));
+        assertions.add(() -> assertEquals(expected.status(), actual.getStatus(), "status"));
+        assertions.add(() -> assertEquals(category == null ? null : category.id(), categoryId(actual.getCategory()), "category.id"));
+        assertions.add(() -> assertEquals(category == null ? null : category.name(), categoryName(actual.getCategory()), "category.name"));
+        assertions.add(() -> assertEquals(expected.photoUrls(), actual.getPhotoUrls(), "photoUrls"));
+        assertions.add(() -> assertEquals(tagsToString(expected.tags()), tagsToString(actual.getTags()), "tags"));
+        assertAll("Response body does not match the pet that was sent", assertions);
+        return this;
+    }
+
+    public PetResponse assertPetMatches(Pet expected) {
+        return assertPetMatches(PetValue.from(expected));
+    }
+
+    private JsonElement json() {
+        if (!parsed) {
+            String body = new String(response.asByteArray(), StandardCharsets.UTF_8);
+            try {
+                json = body.isBlank() ? null : JsonParser.parseString(body);
+            } catch (JsonParseException e) {
+                json = null;
+            }
+            parsed = true;
+        }
+        return json;
+    }
+
+    private static Long categoryId(Category category) {
+        return category == null ? null : category.getId();
+    }
+
+    private static String categoryName(Category category) {
+        return category == null ? null : category.getName();
+    }
+
+    private static String tagsToString(List<?> tags) {
+        if (tags == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        for (Object tag : tags) {
+            if (tag == null) {
+                values.add("null");
+            } else if (tag instanceof Tag bean) {
+                values.add(bean.getId() + ":" + Objects.toString(bean.getName()));
+            } else {
+                TagValue value = (TagValue) tag;
+                values.add(value.id() + ":" + Objects.toString(value.name()));
+            }
+        }
+        return values.toString();
+    }
+}
@@ -0,0 +1,337 @@
+package utils;
+
+import com.example.petstore.cache.CacheStats;
+import com.example.petstore.cache.TinyLfuCache;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.json.ByteBufferPool;
+import com.example.petstore.json.PetJsonWriter;
+import com.example.petstore.value.PetValue;
+import config.ConfigReader;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.ContentType;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Shared client for the Petstore API. All requests go through one bounded pool of
+ * keep-alive connections, and each thread reuses its own request specifications,
+ * so tests no longer depend on the global {@code RestAssured.baseURI}.
+ */
+@SuppressWarnings("deprecation")
+public class PetStoreClient {
+    private static final PoolingClientConnectionManager CONNECTION_MANAGER = createConnectionManager();
+    private static final DefaultHttpClient HTTP_CLIENT = createHttpClient();
+    private static final RestAssuredConfig CONFIG = RestAssuredConfig.config()
+            .httpClient(HttpClientConfig.httpClientConfig()
+                    .reuseHttpClientInstance()
+                    .httpClientFactory(() -> HTTP_CLIENT));
+
+    private static final ByteBufferPool BODY_BUFFERS = new ByteBufferPool(1024, 1 << 20);
+
+    private static volatile TinyLfuCache<Long, Response> petCache = ConfigReader.isPetCacheEnabled()
+            ? newPetCache(ConfigReader.getPetCacheMaxBytes(), Duration.ofMillis(ConfigReader.getPetCacheTtlMillis()))
+            : null;
+
+    private static final ThreadLocal<RequestSpecification> SPEC = ThreadLocal.withInitial(PetStoreClient::buildSpec);
+    private static final ThreadLocal<RequestSpecification> JSON_SPEC = ThreadLocal.withInitial(PetStoreClient::buildJsonSpec);
+
+    static {
+        MetricsFilter.install();
+    }
+
+    private PetStoreClient() {
+    }
+
+    public static RequestSpecification spec() {
+        return SPEC.get();
+    }
+
+    public static Response createPet(Pet pet) {
+        return send(Method.POST, toJson(pet), pet.getId());
+    }
+
+    public static Response updatePet(Pet pet) {
+        return send(Method.PUT, toJson(pet), pet.getId());
+    }
+
+    public static Response createPet(PetValue pet) {
+        return send(Method.POST, toJson(pet), pet.id());
+    }
+
+    public static Response updatePet(PetValue pet) {
+        return send(Method.PUT, toJson(pet), pet.id());
+    }
+
+    /**
+     * Posts an already serialized pet, such as a {@code PetCorpus} entry.
+     *
+     * @param petId the id in {@code json}, or {@code null} when it has none or it is not
+     *              known; such a pet is neither tracked nor evicted from the pet cache
+     */
+    public static Response createPet(byte[] json, Long petId) {
+        return send(Method.POST, json, petId);
+    }
+
+    /**
+     * Puts an already serialized pet, such as a compiled scenario body.
+     *
+     * @param petId the id in {@code json}, or {@code null} when it has none or it is not
+     *              known
+     */
+    public static Response updatePet(byte[] json, Long petId) {
+        return send(Method.PUT, json, petId);
+    }
+
+    /**
+     * With the pet cache enabled, successful lookups by numeric id are answered from the
+     * cache until they expire or this client writes the same pet. A response is not
+     * cached if this client wrote the pet while the lookup was in flight, since the
+     * response may predate the write.
+     */
+    public static Response getPet(Object petId) {
+        TinyLfuCache<Long, Response> cache = petCache;
+        Long key = cache == null ? null : cacheKey(petId);
+        long generation = 0;
+        if (key != null) {
+            Response cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            generation = cache.generation(key);
+        }
+        Response response = given()
+                .spec(SPEC.get())
+                .when()
+                .get("/pet/{petId}", petId);
+        if (key != null && response.getStatusCode() == 200) {
+            cache.putIfUnchanged(key, response, generation);
+        }
+        return response;
+    }
+
+    public static Response deletePet(Object petId) {
+        Response response = given()
+                .spec(SPEC.get())
+                .when()
+                .delete("/pet/{petId}", petId);
+        Long key = cacheKey(petId);
+        invalidateCachedPet(key);
+        if (key != null && response.getStatusCode() == 200) {
+            PetIds.tracker().deleted(key);
+        }
+        return response;
+    }
+
+    /**
+     * Caches {@code GET /pet/{petId}} responses, at most {@code maxBytes} of bodies, each
+     * for at most {@code timeToLive}. Replaces any cache enabled before.
+     */
+    public static void enablePetCache(long maxBytes, Duration timeToLive) {
+        petCache = newPetCache(maxBytes, timeToLive);
+    }
+
+    public static void disablePetCache() {
+        petCache = null;
+    }
+
+    /**
+     * @return counters of the pet cache, or {@code null} when it is disabled
+     */
+    public static CacheStats petCacheStats() {
+        TinyLfuCache<Long, Response> cache = petCache;
+        return cache == null ? null : cache.stats();
+    }
+
+    public static PoolStats poolStats() {
+        return CONNECTION_MANAGER.getTotalStats();
+    }
+
+    /**
+     * Serializes with {@link PetJsonWriter} into a pooled buffer instead of letting
+     * RestAssured go through Gson and an intermediate String. RestAssured only accepts
+     * a body as an array, so the one remaining allocation is the exact-size copy.
+     */
+    private static byte[] toJson(Pet pet) {
+        return copyAndRelease(PetJsonWriter.write(pet, BODY_BUFFERS));
+    }
+
+    private static byte[] toJson(PetValue pet) {
+        return copyAndRelease(PetJsonWriter.write(pet, BODY_BUFFERS));
+    }
+
+    private static byte[] copyAndRelease(ByteBuffer buffer) {
+        try {
+            int start = buffer.arrayOffset() + buffer.position();
+            return Arrays.copyOfRange(buffer.array(), start, start + buffer.remaining());
+        } finally {
+            BODY_BUFFERS.release(buffer);
+        }
+    }
+
+    private static TinyLfuCache<Long, Response> newPetCache(long maxBytes, Duration timeToLive) {
+        return TinyLfuCache.<Long, Response>builder()
+                .maximumWeight(maxBytes)
+                .weigher(response -> response.asByteArray().length)
+                .timeToLive(timeToLive)
+                .expectedEntries((int) Math.min(Integer.MAX_VALUE, maxBytes / 128))
+                .build();
+    }
+
+    /**
+     * Every write of a pet goes through here, so that it always evicts the pet from the
+     * cache and is tracked for cleanup.
+     */
+    private static Response send(Method method, byte[] body, Long petId) {
+        Response response = given()
+                .spec(JSON_SPEC.get())
+                .body(body)
+                .when()
+                .request(method, "/pet");
+        invalidateCachedPet(petId);
+        trackWrite(response, petId);
+        return response;
+    }
+
+    private static void invalidateCachedPet(Long petId) {
+        TinyLfuCache<Long, Response> cache = petCache;
+        if (cache != null && petId != null) {
+            cache.invalidate(petId);
+        }
+    }
+
+    /**
+     * Records a pet the server stored in {@link PetIds#tracker()}, which keeps it only if
+     * the id is in the run's range.
+     */
+    private static void trackWrite(Response response, Long petId) {
+        if (petId != null && response.getStatusCode() == 200) {
+            PetIds.tracker().created(petId);
+        }
+    }
+
+    private static Long cacheKey(Object petId) {
+        if (petId instanceof Long || petId instanceof Integer) {
+            return ((Number) petId).longValue();
+        }
+        if (petId instanceof String) {
+            try {
+                return Long.parseLong((String) petId);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static RequestSpecification buildSpec() {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setConfig(CONFIG)
+                .setBaseUri(ConfigReader.getBaseUrl())
+                .addHeader("api_key", ConfigReader.getApiKey())
+                .addFilter(new LatencySampleFilter());
+        CassetteFilter cassette = CassetteFilter.fromConfig();
+        if (cassette != null) {
+            builder.addFilter(cassette);
+        }
+        return builder
+                .addFilter(new ConnectionReleaseFilter())
+                .build();
+    }
+
+    private static RequestSpecification buildJsonSpec() {
+        return new RequestSpecBuilder()
+                .addRequestSpecification(SPEC.get())
+                .setContentType(ContentType.JSON)
+                .build();
+    }
+
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager();
+        manager.setMaxTotal(ConfigReader.getMaxConnections());
+        manager.setDefaultMaxPerRoute(ConfigReader.getMaxConnectionsPerRoute());
+        return manager;
+    }
+
+    private static DefaultHttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTION_MANAGER);
+        client.setKeepAliveStrategy(new ServerAwareKeepAliveStrategy(ConfigReader.getKeepAliveMillis()));
+        return client;
+    }
+
+    /**
+     * A pooled connection only goes back to the pool once its entity has been read.
+     * Tests often look at the status code alone, so the body is buffered right away.
+     */
+    private static class ConnectionReleaseFilter implements Filter {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+            Response response = ctx.next(requestSpec, responseSpec);
+            response.asByteArray();
+            return response;
+        }
+    }
+
+    /**
+     * Times each exchange, body included, for {@link LatencyBudget} tests. The endpoint
+     * is the path template, so {@code GET /pet/{petId}} is one endpoint for every id.
+     */
+    private static class LatencySampleFilter implements Filter {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+            long start = System.nanoTime();
+            Response response = ctx.next(requestSpec, responseSpec);
+            LatencyBudgetExtension.record(requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath(), System.nanoTime() - start);
+            return response;
+        }
+    }
+
+    /**
+     * Honours the server's {@code Keep-Alive: timeout=n} hint and otherwise keeps
+     * idle connections for the configured duration.
+     */
+    private static class ServerAwareKeepAliveStrategy implements ConnectionKeepAliveStrategy {
+        private final long defaultKeepAliveMillis;
+
+        ServerAwareKeepAliveStrategy(long defaultKeepAliveMillis) {
+            this.defaultKeepAliveMillis = defaultKeepAliveMillis;
+        }
+
+        @Override
+        public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+            BasicHeaderElementIterator elements = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (elements.hasNext()) {
+                HeaderElement element = elements.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Long.parseLong(element.getValue()) * 1000;
+                    } catch (NumberFormatException ignored) {
+                        // fall back to the configured duration
+                    }
+                }
+            }
+            return defaultKeepAliveMillis;
+        }
+    }
+}
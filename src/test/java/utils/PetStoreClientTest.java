@@ -0,0 +1,48 @@
+package utils;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(PetStoreStubExtension.class)
+public class PetStoreClientTest {
+    private final List<Filter> globalFilters = new ArrayList<>(RestAssured.filters());
+
+    @AfterEach
+    void restore() {
+        RestAssured.replaceFiltersWith(globalFilters);
+        PetStoreClient.disablePetCache();
+    }
+
+    @Test
+    void lookupThatOverlapsAWriteIsNotCached() {
+        long id = PetIds.next();
+        assertEquals(200, PetStoreClient.createPet(TestPets.pet(id).build()).getStatusCode());
+        PetStoreClient.enablePetCache(1 << 20, Duration.ofMinutes(1));
+
+        // The update lands after the server answered the lookup but before the client
+        // has cached that answer.
+        RestAssured.filters((request, response, context) -> {
+            Response answer = context.next(request, response);
+            if (Method.GET.name().equals(request.getMethod())) {
+                RestAssured.replaceFiltersWith(globalFilters);
+                assertEquals(200, PetStoreClient.updatePet(TestPets.pet(id).name("Snowball").build()).getStatusCode());
+            }
+            return answer;
+        });
+        assertEquals("Miffy", PetStoreClient.getPet(id).jsonPath().getString("name"));
+
+        assertEquals("Snowball", PetStoreClient.getPet(id).jsonPath().getString("name"));
+        assertEquals(0, PetStoreClient.petCacheStats().hits());
+    }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+import com.example.petstore.dto.Category;
+import com.example.petstore.dto.Pet;
+import com.example.petstore.dto.Tag;
+import config.ConfigReader;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+
+/**
+ * Starts a single {@link PetStoreStubServer} for the whole test run and points
+ * {@link ConfigReader#getBaseUrl()} at it. Against a real server it registers
+ * {@link PetCleanup} instead, unless {@code pet_cleanup=false}. Does nothing when
+ * responses are replayed from a cassette (see {@link CassetteFilter}).
+ */
+public class PetStoreStubExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PetStoreStubExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (CassetteFilter.isReplaying()) {
+            return;
+        }
+        if (!ConfigReader.useStubServer()) {
+            if (ConfigReader.isPetCleanupEnabled()) {
+                context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(PetCleanup.class, key -> new PetCleanup(), PetCleanup.class);
+            }
+            return;
+        }
+        PetStoreStubServer server = context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(PetStoreStubServer.class, key -> startServer(), PetStoreStubServer.class);
+        ConfigReader.setBaseUrl(server.getBaseUrl());
+    }
+
+    private static PetStoreStubServer startServer() {
+        PetStoreStubServer server = PetStoreStubServer.start();
+        // Like the public server, which always has a pet with ID 1.
+        server.seed(new Pet(new Category(1L, "Rabbit"), 1L, "Miffy", List.of(), "available", List.of(new Tag("Mammal", 1L))));
+        return server;
+    }
+}
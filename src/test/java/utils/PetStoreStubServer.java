@@ -0,0 +1,217 @@
+package utils;
+
+import com.example.petstore.dto.Pet;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the public Petstore service. Implements the {@code /pet}
+ * POST/PUT/GET/DELETE contract on top of a concurrent in-memory store keyed by
+ * {@link Pet#getId()} and listens on an ephemeral loopback port.
+ */
+public class PetStoreStubServer implements ExtensionContext.Store.CloseableResource {
+    private static final Logger logger = LoggerFactory.getLogger(PetStoreStubServer.class);
+    private static final String CONTEXT_PATH = "/v2";
+    private static final String JSON = "application/json";
+
+    private final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(Long.class, new StrictLongAdapter())
+            .create();
+    private final Map<Long, Pet> pets = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1_000_000_000L);
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private PetStoreStubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static PetStoreStubServer start() {
+        // Headers and body go out as separate writes; without TCP_NODELAY each response
+        // waits on the client's delayed ACK.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "petstore-stub");
+                thread.setDaemon(true);
+                return thread;
+            });
+            PetStoreStubServer stub = new PetStoreStubServer(server, executor);
+            server.createContext(CONTEXT_PATH, stub::handle);
+            server.setExecutor(executor);
+            server.start();
+            logger.info("Petstore stub server listening on {}", stub.getBaseUrl());
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start Petstore stub server", e);
+        }
+    }
+
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + CONTEXT_PATH;
+    }
+
+    public void seed(Pet pet) {
+        pets.put(pet.getId(), pet);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(CONTEXT_PATH.length());
+            String method = exchange.getRequestMethod();
+
+            if (path.equals("/pet") || path.equals("/pet/")) {
+                if (method.equals("POST") || method.equals("PUT")) {
+                    upsertPet(exchange);
+                } else {
+                    respond(exchange, 405, error(405, "unknown", null));
+                }
+            } else if (path.startsWith("/pet/") && method.equals("GET")) {
+                getPet(exchange, path.substring("/pet/".length()));
+            } else if (path.startsWith("/pet/") && method.equals("DELETE")) {
+                deletePet(exchange, path.substring("/pet/".length()));
+            } else if (path.startsWith("/pet/")) {
+                respond(exchange, 405, error(405, "unknown", null));
+            } else {
+                respond(exchange, 404, error(404, "unknown", null));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void upsertPet(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        if (body.isBlank()) {
+            respond(exchange, 405, error(405, "unknown", "no data"));
+            return;
+        }
+
+        Pet pet;
+        try {
+            pet = gson.fromJson(body, Pet.class);
+        } catch (JsonParseException e) {
+            respond(exchange, 400, error(400, "unknown", "bad input"));
+            return;
+        }
+        if (pet == null) {
+            respond(exchange, 405, error(405, "unknown", "no data"));
+            return;
+        }
+        if (pet.getId() == null || pet.getId() == 0L) {
+            pet.setId(nextId.getAndIncrement());
+        }
+        pets.put(pet.getId(), pet);
+        respond(exchange, 200, gson.toJson(pet));
+    }
+
+    private void getPet(HttpExchange exchange, String rawId) throws IOException {
+        long id;
+        try {
+            id = Long.parseLong(rawId);
+        } catch (NumberFormatException e) {
+            respond(exchange, 404, error(404, "unknown", "java.lang.NumberFormatException: For input string: \"" + rawId + "\""));
+            return;
+        }
+
+        Pet pet = pets.get(id);
+        if (pet == null) {
+            respond(exchange, 404, error(1, "error", "Pet not found"));
+        } else {
+            respond(exchange, 200, gson.toJson(pet));
+        }
+    }
+
+    private void deletePet(HttpExchange exchange, String rawId) throws IOException {
+        long id;
+        try {
+            id = Long.parseLong(rawId);
+        } catch (NumberFormatException e) {
+            respond(exchange, 404, error(404, "unknown", "java.lang.NumberFormatException: For input string: \"" + rawId + "\""));
+            return;
+        }
+
+        if (pets.remove(id) == null) {
+            respond(exchange, 404, error(1, "error", "Pet not found"));
+        } else {
+            respond(exchange, 200, error(200, "unknown", String.valueOf(id)));
+        }
+    }
+
+    private String error(int code, String type, String message) {
+        JsonObject error = new JsonObject();
+        error.addProperty("code", code);
+        error.addProperty("type", type);
+        if (message != null) {
+            error.addProperty("message", message);
+        }
+        return gson.toJson(error);
+    }
+
+    private void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Rejects integers outside the {@code long} range like the real service does. Gson's
+     * own adapter would clamp them to {@link Long#MAX_VALUE} and store the wrong pet.
+     */
+    private static final class StrictLongAdapter extends TypeAdapter<Long> {
+        @Override
+        public void write(JsonWriter out, Long value) throws IOException {
+            out.value(value);
+        }
+
+        @Override
+        public Long read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String value = in.nextString();
+            try {
+                return new BigDecimal(value).toBigInteger().longValueExact();
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new JsonSyntaxException("Not a 64-bit integer: " + value, e);
+            }
+        }
+    }
+}
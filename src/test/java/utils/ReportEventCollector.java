@@ -0,0 +1,219 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Report front end for concurrent tests. Each reporting thread appends events to its
+ * own single-producer ring buffer, and one consumer thread drains all buffers into the
+ * Extent model. Log calls never take a lock or touch shared state; the Extent model is
+ * only ever used from the consumer thread, so it needs no lock either.
+ * <p>
+ * Events from one thread reach the model in the order they were logged. A node used
+ * from several threads may see their events interleaved in any order.
+ * <p>
+ * A buffer is dropped once its thread has ended and it has been drained, so short-lived
+ * worker threads do not leave buffers behind for the consumer to scan.
+ */
+public class ReportEventCollector {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final ExtentReports extent;
+    private final int bufferCapacity;
+    private final List<EventBuffer> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<EventBuffer> localBuffer = ThreadLocal.withInitial(this::register);
+    private final Thread consumer;
+    private volatile boolean running = true;
+
+    public ReportEventCollector(ExtentReports extent, int bufferCapacity) {
+        this.extent = extent;
+        this.bufferCapacity = bufferCapacity;
+        consumer = new Thread(this::consume, "report-collector");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    public ReportNode createTest(String name) {
+        Node node = new Node(name);
+        localBuffer.get().put(node);
+        return node;
+    }
+
+    /**
+     * Waits until every event logged before this call is in the Extent model, then
+     * flushes the model to its reporters on the consumer thread.
+     */
+    public void flush() {
+        FlushRequest request = new FlushRequest();
+        localBuffer.get().put(request);
+        try {
+            request.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Drains what is left and stops the consumer thread. Events logged afterwards are
+     * dropped.
+     */
+    public void close() {
+        flush();
+        running = false;
+        LockSupport.unpark(consumer);
+    }
+
+    private EventBuffer register() {
+        EventBuffer buffer = new EventBuffer(Thread.currentThread(), bufferCapacity);
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    private void consume() {
+        while (running) {
+            if (drainAll() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drainAll() {
+        int drained = 0;
+        for (EventBuffer buffer : buffers) {
+            // Checked before draining: once the owner has ended, everything it put is
+            // visible, so the drain below gets all of it.
+            boolean ownerEnded = buffer.ownerEnded();
+            Object event;
+            while ((event = buffer.poll()) != null) {
+                apply(event);
+                drained++;
+            }
+            if (ownerEnded) {
+                buffers.remove(buffer);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * @return the number of buffers the consumer scans
+     */
+    int bufferCount() {
+        return buffers.size();
+    }
+
+    private void apply(Object event) {
+        if (event instanceof LogEvent) {
+            LogEvent log = (LogEvent) event;
+            extentTest(log.node).log(log.status, log.details);
+        } else if (event instanceof Node) {
+            extentTest((Node) event);
+        } else if (event instanceof FlushRequest) {
+            // Other threads' earlier events are already published to their buffers.
+            while (drainAll() > 0) {
+                // keep draining
+            }
+            try {
+                extent.flush();
+            } finally {
+                ((FlushRequest) event).done.countDown();
+            }
+        }
+    }
+
+    private ExtentTest extentTest(Node node) {
+        if (node.test == null) {
+            node.test = extent.createTest(node.getName());
+        }
+        return node.test;
+    }
+
+    private final class Node extends ReportNode {
+        // Only touched by the consumer thread.
+        private ExtentTest test;
+
+        private Node(String name) {
+            super(name);
+        }
+
+        @Override
+        public ReportNode log(Status status, String details) {
+            localBuffer.get().put(new LogEvent(this, status, details));
+            return this;
+        }
+    }
+
+    private static final class LogEvent {
+        private final Node node;
+        private final Status status;
+        private final String details;
+
+        private LogEvent(Node node, Status status, String details) {
+            this.node = node;
+            this.status = status;
+            this.details = details;
+        }
+    }
+
+    private static final class FlushRequest {
+        private final CountDownLatch done = new CountDownLatch(1);
+    }
+
+    /**
+     * Bounded ring with one producer (the owning thread) and one consumer. Positions
+     * are published with ordered writes; when the ring is full the producer backs off
+     * until the consumer catches up.
+     */
+    private static final class EventBuffer {
+        // Weak so that the buffer does not keep the thread object alive.
+        private final WeakReference<Thread> owner;
+        private final AtomicReferenceArray<Object> slots;
+        private final int mask;
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong tail = new AtomicLong();
+
+        private EventBuffer(Thread owner, int requestedCapacity) {
+            this.owner = new WeakReference<>(owner);
+            int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+            slots = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+
+        private boolean ownerEnded() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        private void put(Object event) {
+            long position = tail.get();
+            while (position - head.get() > mask) {
+                Thread.onSpinWait();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            slots.lazySet((int) (position & mask), event);
+            tail.lazySet(position + 1);
+        }
+
+        private Object poll() {
+            long position = head.get();
+            if (position == tail.get()) {
+                return null;
+            }
+            int index = (int) (position & mask);
+            Object event = slots.get(index);
+            slots.lazySet(index, null);
+            head.lazySet(position + 1);
+            return event;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.model.Test;
+import com.aventstack.extentreports.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReportEventCollectorTest {
+
+    @org.junit.jupiter.api.Test
+    void mergesPerThreadEventsIntoExtentModel() throws InterruptedException {
+        ExtentReports extent = new ExtentReports();
+        ReportEventCollector collector = new ReportEventCollector(extent, 8);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    ReportNode node = collector.createTest("Node " + thread + "-" + i);
+                    for (int step = 0; step < 5; step++) {
+                        node.info("step " + step);
+                    }
+                    node.log(i == 0 ? Status.FAIL : Status.PASS, "done");
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        collector.flush();
+
+        List<Test> tests = extent.getReport().getTestList();
+        assertEquals(800, tests.size());
+        for (Test test : tests) {
+            assertEquals(6, test.getLogs().size(), test.getName());
+            for (int step = 0; step < 5; step++) {
+                assertEquals("step " + step, test.getLogs().get(step).getDetails());
+            }
+        }
+        assertEquals(8, tests.stream().filter(test -> test.getStatus() == Status.FAIL).count());
+        assertEquals(1, collector.bufferCount(), "only the flushing thread's buffer is left");
+        collector.close();
+    }
+}
@@ -0,0 +1,33 @@
+package utils;
+
+import com.aventstack.extentreports.Status;
+
+/**
+ * Report node owned by a single test invocation. Where the log lines end up depends on
+ * the report mode picked by {@link ExtentReportUtil}.
+ */
+public abstract class ReportNode {
+    private final String name;
+
+    protected ReportNode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ReportNode info(String details) {
+        return log(Status.INFO, details);
+    }
+
+    public ReportNode pass(String details) {
+        return log(Status.PASS, details);
+    }
+
+    public ReportNode fail(String details) {
+        return log(Status.FAIL, details);
+    }
+
+    public abstract ReportNode log(Status status, String details);
+}
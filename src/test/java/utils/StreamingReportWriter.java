@@ -0,0 +1,263 @@
+package utils;
+
+import com.aventstack.extentreports.Status;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Report writer for long runs. Log calls go into a bounded queue, and a background
+ * thread renders them as HTML rows into numbered chunk files on disk. Once a log call
+ * returns, the writer no longer keeps anything for that node except a per-node failed
+ * flag, so memory stays flat however many nodes a run creates. When the queue is full,
+ * log calls wait for the writer.
+ * <p>
+ * {@link #flush()} waits for the queue to drain and then builds the HTML report by
+ * streaming the chunks between a header and a footer, so the report is never held in
+ * memory either.
+ */
+public class StreamingReportWriter {
+    private final Path reportFile;
+    private final Path chunkDirectory;
+    private final int eventsPerChunk;
+    private final BlockingQueue<Object> queue;
+    private final AtomicLong nodeIds = new AtomicLong();
+    private final Thread writerThread;
+
+    // Only touched by the writer thread.
+    private final Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+    private long nodes;
+    private long failedNodes;
+    private int chunkCount;
+    private int eventsInChunk;
+    private Writer chunk;
+    private volatile IOException failure;
+
+    public StreamingReportWriter(Path reportFile, Path chunkDirectory, int queueCapacity, int eventsPerChunk) {
+        this.reportFile = reportFile;
+        this.chunkDirectory = chunkDirectory;
+        this.eventsPerChunk = eventsPerChunk;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        try {
+            Files.createDirectories(chunkDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create " + chunkDirectory, e);
+        }
+        writerThread = new Thread(this::writeLoop, "report-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public ReportNode createTest(String name) {
+        Node node = new Node(name, nodeIds.incrementAndGet());
+        enqueue(node);
+        return node;
+    }
+
+    /**
+     * Waits until every queued event is on disk, then rewrites the HTML report.
+     */
+    public synchronized void flush() {
+        Snapshot snapshot = new Snapshot();
+        enqueue(snapshot);
+        try {
+            snapshot.taken.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Report writer failed", failure);
+        }
+        try {
+            assemble(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + reportFile, e);
+        }
+    }
+
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    private void enqueue(Object item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                if (item instanceof Event) {
+                    writeEvent((Event) item);
+                } else if (item instanceof Node) {
+                    nodes++;
+                } else if (item instanceof Snapshot) {
+                    takeSnapshot((Snapshot) item);
+                }
+            } catch (IOException e) {
+                failure = e;
+                if (item instanceof Snapshot) {
+                    ((Snapshot) item).taken.countDown();
+                }
+            }
+        }
+    }
+
+    private void writeEvent(Event event) throws IOException {
+        if (chunk == null || eventsInChunk == eventsPerChunk) {
+            rollChunk();
+        }
+        statusCounts.merge(event.status, 1L, Long::sum);
+        if (event.status == Status.FAIL && !event.node.failed) {
+            event.node.failed = true;
+            failedNodes++;
+        }
+        chunk.write("<tr class=\"");
+        chunk.write(event.status.toLower());
+        chunk.write("\"><td>");
+        chunk.write(Instant.ofEpochMilli(event.timestamp).toString());
+        chunk.write("</td><td>");
+        escape(event.node.getName());
+        chunk.write(" #");
+        chunk.write(Long.toString(event.node.id));
+        chunk.write("</td><td>");
+        chunk.write(event.status.toString());
+        chunk.write("</td><td>");
+        escape(event.details);
+        chunk.write("</td></tr>\n");
+        eventsInChunk++;
+    }
+
+    /**
+     * Closes the current chunk so that every chunk in the snapshot is complete and
+     * never written again. The next event starts a new one.
+     */
+    private void takeSnapshot(Snapshot snapshot) throws IOException {
+        if (chunk != null) {
+            chunk.close();
+            chunk = null;
+        }
+        snapshot.nodes = nodes;
+        snapshot.failedNodes = failedNodes;
+        snapshot.statusCounts.putAll(statusCounts);
+        snapshot.chunks = chunkCount;
+        snapshot.taken.countDown();
+    }
+
+    private void rollChunk() throws IOException {
+        if (chunk != null) {
+            chunk.close();
+        }
+        chunk = Files.newBufferedWriter(chunkPath(chunkCount++), StandardCharsets.UTF_8);
+        eventsInChunk = 0;
+    }
+
+    private Path chunkPath(int index) {
+        return chunkDirectory.resolve(String.format("chunk-%06d.html", index));
+    }
+
+    private void escape(String text) throws IOException {
+        if (text == null) {
+            return;
+        }
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String replacement;
+            switch (text.charAt(i)) {
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '&': replacement = "&amp;"; break;
+                case '"': replacement = "&quot;"; break;
+                default: continue;
+            }
+            chunk.write(text, start, i - start);
+            chunk.write(replacement);
+            start = i + 1;
+        }
+        chunk.write(text, start, text.length() - start);
+    }
+
+    private void assemble(Snapshot snapshot) throws IOException {
+        Path temporary = reportFile.resolveSibling(reportFile.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+            StringBuilder header = new StringBuilder()
+                    .append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Petstore API Test Report</title>\n")
+                    .append("<style>body{font-family:sans-serif}table{border-collapse:collapse;width:100%}")
+                    .append("td,th{border:1px solid #ddd;padding:4px;vertical-align:top}")
+                    .append("td:last-child{white-space:pre-wrap;font-family:monospace}")
+                    .append(".pass{background:#e8f5e9}.fail{background:#ffebee}.warning{background:#fff8e1}.skip{background:#eceff1}")
+                    .append("</style></head><body>\n<h1>Petstore API Test Report</h1>\n<p>")
+                    .append(snapshot.nodes).append(" tests, ").append(snapshot.failedNodes).append(" failed.");
+            snapshot.statusCounts.forEach((status, count) -> header.append(' ').append(status).append(": ").append(count).append('.'));
+            header.append("</p>\n<table><tr><th>Time</th><th>Test</th><th>Status</th><th>Details</th></tr>\n");
+            out.write(header.toString().getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < snapshot.chunks; i++) {
+                Files.copy(chunkPath(i), out);
+            }
+            out.write("</table></body></html>\n".getBytes(StandardCharsets.UTF_8));
+        }
+        Files.move(temporary, reportFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private final class Node extends ReportNode {
+        private final long id;
+        private boolean failed;
+
+        private Node(String name, long id) {
+            super(name);
+            this.id = id;
+        }
+
+        @Override
+        public ReportNode log(Status status, String details) {
+            enqueue(new Event(this, status, details, System.currentTimeMillis()));
+            return this;
+        }
+    }
+
+    private static final class Snapshot {
+        private final CountDownLatch taken = new CountDownLatch(1);
+        private final Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        private long nodes;
+        private long failedNodes;
+        private int chunks;
+    }
+
+    private static final class Event {
+        private final Node node;
+        private final Status status;
+        private final String details;
+        private final long timestamp;
+
+        private Event(Node node, Status status, String details, long timestamp) {
+            this.node = node;
+            this.status = status;
+            this.details = details;
+            this.timestamp = timestamp;
+        }
+    }
+}
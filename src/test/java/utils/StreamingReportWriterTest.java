@@ -0,0 +1,71 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingReportWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void assemblesReportFromChunks() throws Exception {
+        StreamingReportWriter writer = new StreamingReportWriter(
+                directory.resolve("report.html"), directory.resolve("chunks"), 16, 100);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    ReportNode node = writer.createTest("Node " + thread + "-" + i);
+                    node.info("Request <" + i + "> & \"body\"");
+                    if (i % 50 == 0) {
+                        node.fail("Expected 200");
+                    } else {
+                        node.pass("OK");
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.flush();
+
+        String html = Files.readString(writer.getReportFile(), StandardCharsets.UTF_8);
+        assertTrue(html.contains("1000 tests, 20 failed."), html.substring(0, 600));
+        assertEquals(2000, countRows(html));
+        assertTrue(html.contains("Request &lt;7&gt; &amp; &quot;body&quot;"));
+        assertTrue(chunkCount() >= 20);
+
+        writer.createTest("Late node").pass("after first flush");
+        writer.flush();
+
+        html = Files.readString(writer.getReportFile(), StandardCharsets.UTF_8);
+        assertTrue(html.contains("1001 tests, 20 failed."));
+        assertEquals(2001, countRows(html));
+    }
+
+    private long countRows(String html) {
+        return html.lines().filter(line -> line.startsWith("<tr class=")).count();
+    }
+
+    private long chunkCount() throws IOException {
+        try (Stream<Path> chunks = Files.list(directory.resolve("chunks"))) {
+            return chunks.count();
+        }
+    }
+}
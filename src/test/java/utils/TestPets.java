@@ -0,0 +1,39 @@
+package utils;
+
+import com.example.petstore.value.CategoryValue;
+import com.example.petstore.value.PetValue;
+import com.example.petstore.value.TagValue;
+
+import java.util.List;
+
+/**
+ * The pet tests write unless they are about a particular field: Miffy, an available
+ * rabbit tagged Mammal, with no photos. Tests change what they need on the builder.
+ */
+public final class TestPets {
+    public static final CategoryValue RABBIT = CategoryValue.of(1L, "Rabbit");
+    public static final TagValue MAMMAL = TagValue.of(1L, "Mammal");
+
+    private TestPets() {
+    }
+
+    /**
+     * @return the pet with a new id from {@link PetIds#next()}
+     */
+    public static PetValue.Builder newPet() {
+        return pet(PetIds.next());
+    }
+
+    /**
+     * @return the pet with {@code id}, for ids leased up front with {@link PetIds#lease(int)}
+     */
+    public static PetValue.Builder pet(long id) {
+        return PetValue.builder()
+                .id(id)
+                .category(RABBIT)
+                .name("Miffy")
+                .photoUrls(List.of())
+                .tags(List.of(MAMMAL))
+                .status("available");
+    }
+}
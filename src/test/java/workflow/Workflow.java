@@ -0,0 +1,113 @@
+package workflow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named steps and the steps each one waits for, checked for unknown names and cycles
+ * when it is built. A {@link WorkflowScheduler} runs it as many independent chains.
+ */
+public final class Workflow {
+    record Node(String name, int index, int[] dependencies, WorkflowStep action) {
+    }
+
+    private final String name;
+    private final List<Node> nodes;
+
+    private Workflow(String name, List<Node> nodes) {
+        this.name = name;
+        this.nodes = List.copyOf(nodes);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the step names, each after all of its dependencies
+     */
+    public List<String> getStepNames() {
+        return nodes.stream().map(Node::name).toList();
+    }
+
+    /**
+     * In dependency order, and {@link Node#index()} is the position in this list.
+     */
+    List<Node> nodes() {
+        return nodes;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final Map<String, List<String>> dependencies = new LinkedHashMap<>();
+        private final Map<String, WorkflowStep> actions = new LinkedHashMap<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder step(String step, WorkflowStep action) {
+            return step(step, List.of(), action);
+        }
+
+        public Builder step(String step, List<String> after, WorkflowStep action) {
+            if (actions.containsKey(step)) {
+                throw new IllegalArgumentException("Duplicate step '" + step + "' in workflow " + name);
+            }
+            dependencies.put(step, List.copyOf(after));
+            actions.put(step, action);
+            return this;
+        }
+
+        public Workflow build() {
+            if (actions.isEmpty()) {
+                throw new IllegalStateException("Workflow " + name + " has no steps");
+            }
+            Map<String, Integer> waitingFor = new LinkedHashMap<>();
+            Map<String, List<String>> dependents = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> step : dependencies.entrySet()) {
+                for (String dependency : step.getValue()) {
+                    if (!actions.containsKey(dependency)) {
+                        throw new IllegalStateException("Step '" + step.getKey() + "' depends on unknown step '" + dependency + "'");
+                    }
+                    dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(step.getKey());
+                }
+                waitingFor.put(step.getKey(), step.getValue().size());
+            }
+
+            Deque<String> ready = new ArrayDeque<>();
+            waitingFor.forEach((step, count) -> {
+                if (count == 0) {
+                    ready.add(step);
+                }
+            });
+            Map<String, Integer> indexes = new LinkedHashMap<>();
+            List<Node> nodes = new ArrayList<>();
+            while (!ready.isEmpty()) {
+                String step = ready.poll();
+                int[] dependencyIndexes = dependencies.get(step).stream().mapToInt(indexes::get).toArray();
+                indexes.put(step, nodes.size());
+                nodes.add(new Node(step, nodes.size(), dependencyIndexes, actions.get(step)));
+                for (String dependent : dependents.getOrDefault(step, List.of())) {
+                    if (waitingFor.merge(dependent, -1, Integer::sum) == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+            if (nodes.size() < actions.size()) {
+                List<String> cycle = new ArrayList<>(actions.keySet());
+                cycle.removeAll(indexes.keySet());
+                throw new IllegalStateException("Workflow " + name + " has a dependency cycle among " + cycle);
+            }
+            return new Workflow(name, nodes);
+        }
+    }
+}
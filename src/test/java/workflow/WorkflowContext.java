@@ -0,0 +1,40 @@
+package workflow;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values one chain passes from a step to the steps that depend on it, such as the id
+ * a create step got back. Each chain has its own context.
+ */
+public final class WorkflowContext {
+    private final int chain;
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    WorkflowContext(int chain) {
+        this.chain = chain;
+    }
+
+    /**
+     * @return the index of this chain, from 0
+     */
+    public int getChain() {
+        return chain;
+    }
+
+    public void put(String key, Object value) {
+        values.put(key, value);
+    }
+
+    /**
+     * @throws IllegalStateException if no earlier step put {@code key}, which usually
+     *                               means a dependency is missing from the workflow
+     */
+    public <T> T get(String key, Class<T> type) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new IllegalStateException("No '" + key + "' in chain " + chain + "; does the step depend on the one that sets it?");
+        }
+        return type.cast(value);
+    }
+}
@@ -0,0 +1,104 @@
+package workflow;
+
+import org.HdrHistogram.Histogram;
+import utils.ReportNode;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a {@link WorkflowScheduler} run: end-to-end latency of whole chains, the
+ * latency of each step, and how often each step failed or was skipped because a step
+ * it depends on failed. Latencies are in nanoseconds.
+ */
+public class WorkflowReport {
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    /**
+     * Latency, failures and skips of one step over all chains.
+     */
+    public record StepStats(Histogram latency, long failed, long skipped) {
+    }
+
+    private final String name;
+    private final int chains;
+    private final long failedChains;
+    private final Histogram chainLatency;
+    private final Map<String, StepStats> steps;
+    private final List<String> failures;
+    private final long elapsedNanos;
+
+    WorkflowReport(String name, int chains, long failedChains, Histogram chainLatency,
+                   Map<String, StepStats> steps, List<String> failures, long elapsedNanos) {
+        this.name = name;
+        this.chains = chains;
+        this.failedChains = failedChains;
+        this.chainLatency = chainLatency;
+        this.steps = Collections.unmodifiableMap(new LinkedHashMap<>(steps));
+        this.failures = failures;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getChains() {
+        return chains;
+    }
+
+    public long getFailedChains() {
+        return failedChains;
+    }
+
+    public Histogram getChainLatency() {
+        return chainLatency;
+    }
+
+    public StepStats getStep(String step) {
+        StepStats stats = steps.get(step);
+        if (stats == null) {
+            throw new IllegalArgumentException("No step '" + step + "' in workflow " + name);
+        }
+        return stats;
+    }
+
+    /**
+     * @return the first few failures, as {@code chain, step: exception}
+     */
+    public List<String> getFailures() {
+        return failures;
+    }
+
+    public double getChainsPerSecond() {
+        return elapsedNanos == 0 ? 0 : chains / (elapsedNanos / 1e9);
+    }
+
+    public String summary() {
+        return name + ": " + chains + " chains in " + String.format("%.1f", elapsedNanos / 1e9) + " s, "
+                + String.format("%.1f", getChainsPerSecond()) + " chains/s, " + failedChains + " failed, chain "
+                + percentiles(chainLatency);
+    }
+
+    public void logTo(ReportNode test) {
+        test.info(summary());
+        for (Map.Entry<String, StepStats> step : steps.entrySet()) {
+            StepStats stats = step.getValue();
+            test.info("Step " + step.getKey() + ": " + percentiles(stats.latency())
+                    + ", " + stats.failed() + " failed, " + stats.skipped() + " skipped");
+        }
+        for (String failure : failures) {
+            test.fail(failure);
+        }
+    }
+
+    private static String percentiles(Histogram histogram) {
+        StringBuilder text = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append('p').append(percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile))
+                    .append('=').append(String.format("%.2f", histogram.getValueAtPercentile(percentile) / 1e6)).append(" ms");
+        }
+        return text.toString();
+    }
+}
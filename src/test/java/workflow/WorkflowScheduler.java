@@ -0,0 +1,147 @@
+package workflow;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs many chains of a {@link Workflow} on a work-stealing {@link ForkJoinPool}. Within
+ * a chain a step starts as soon as all of its dependencies have finished, so steps with
+ * no path between them overlap. Chains are independent of each other, and at most
+ * {@code maxChainsInFlight} of them are started at once, so the chain latency is not
+ * dominated by the backlog of chains that have not started yet.
+ */
+public class WorkflowScheduler {
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private final ForkJoinPool pool;
+    private final int maxChainsInFlight;
+
+    public WorkflowScheduler(ForkJoinPool pool, int maxChainsInFlight) {
+        if (maxChainsInFlight < 1) {
+            throw new IllegalArgumentException("maxChainsInFlight must be at least 1, was " + maxChainsInFlight);
+        }
+        this.pool = pool;
+        this.maxChainsInFlight = maxChainsInFlight;
+    }
+
+    /**
+     * Runs {@code chains} chains and waits for all of them.
+     */
+    public WorkflowReport run(Workflow workflow, int chains) throws InterruptedException {
+        Run run = new Run(workflow);
+        Semaphore inFlight = new Semaphore(maxChainsInFlight);
+        long start = System.nanoTime();
+        for (int chain = 0; chain < chains; chain++) {
+            inFlight.acquire();
+            startChain(run, chain).whenComplete((ignored, error) -> inFlight.release());
+        }
+        inFlight.acquire(maxChainsInFlight);
+        return run.report(chains, System.nanoTime() - start);
+    }
+
+    private CompletableFuture<Void> startChain(Run run, int chain) {
+        long start = System.nanoTime();
+        WorkflowContext context = new WorkflowContext(chain);
+        List<Workflow.Node> nodes = run.workflow.nodes();
+        CompletableFuture<?>[] steps = new CompletableFuture<?>[nodes.size()];
+        for (Workflow.Node node : nodes) {
+            CompletableFuture<?> ready = node.dependencies().length == 0
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.allOf(dependencies(steps, node));
+            steps[node.index()] = ready
+                    .thenRunAsync(() -> run.execute(node, context), pool)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null && !(error.getCause() instanceof StepFailure failure && failure.node == node)) {
+                            run.skipped[node.index()].increment();
+                        }
+                    });
+        }
+        return CompletableFuture.allOf(steps).whenComplete((ignored, error) -> run.chainDone(System.nanoTime() - start, error == null));
+    }
+
+    private static CompletableFuture<?>[] dependencies(CompletableFuture<?>[] steps, Workflow.Node node) {
+        CompletableFuture<?>[] dependencies = new CompletableFuture<?>[node.dependencies().length];
+        for (int i = 0; i < dependencies.length; i++) {
+            dependencies[i] = steps[node.dependencies()[i]];
+        }
+        return dependencies;
+    }
+
+    private static final class StepFailure extends RuntimeException {
+        private final Workflow.Node node;
+
+        StepFailure(Workflow.Node node, Throwable cause) {
+            super(cause);
+            this.node = node;
+        }
+    }
+
+    /**
+     * Counters of one {@link #run} call.
+     */
+    private static final class Run {
+        private final Workflow workflow;
+        private final Histogram[] stepLatency;
+        private final LongAdder[] failed;
+        private final LongAdder[] skipped;
+        private final Histogram chainLatency = new ConcurrentHistogram(3);
+        private final LongAdder failedChains = new LongAdder();
+        private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+        Run(Workflow workflow) {
+            this.workflow = workflow;
+            int steps = workflow.nodes().size();
+            stepLatency = new Histogram[steps];
+            failed = new LongAdder[steps];
+            skipped = new LongAdder[steps];
+            for (int i = 0; i < steps; i++) {
+                stepLatency[i] = new ConcurrentHistogram(3);
+                failed[i] = new LongAdder();
+                skipped[i] = new LongAdder();
+            }
+        }
+
+        void execute(Workflow.Node node, WorkflowContext context) {
+            long start = System.nanoTime();
+            try {
+                node.action().run(context);
+            } catch (Throwable e) {
+                failed[node.index()].increment();
+                if (failures.size() < MAX_REPORTED_FAILURES) {
+                    failures.add("chain " + context.getChain() + ", step " + node.name() + ": " + e);
+                }
+                throw new CompletionException(new StepFailure(node, e));
+            } finally {
+                stepLatency[node.index()].recordValue(System.nanoTime() - start);
+            }
+        }
+
+        void chainDone(long nanos, boolean succeeded) {
+            chainLatency.recordValue(nanos);
+            if (!succeeded) {
+                failedChains.increment();
+            }
+        }
+
+        WorkflowReport report(int chains, long elapsedNanos) {
+            Map<String, WorkflowReport.StepStats> steps = new LinkedHashMap<>();
+            for (Workflow.Node node : workflow.nodes()) {
+                int i = node.index();
+                steps.put(node.name(), new WorkflowReport.StepStats(stepLatency[i], failed[i].sum(), skipped[i].sum()));
+            }
+            return new WorkflowReport(workflow.getName(), chains, failedChains.sum(), chainLatency, steps,
+                    List.copyOf(failures), elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package workflow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkflowSchedulerTest {
+    @Test
+    void stepsRunAfterTheirDependenciesAndBranchesOverlap() throws InterruptedException {
+        Map<Integer, List<String>> order = new ConcurrentHashMap<>();
+        CountDownLatch bothBranches = new CountDownLatch(2);
+        Workflow workflow = Workflow.builder("diamond")
+                .step("create", context -> {
+                    order.put(context.getChain(), new CopyOnWriteArrayList<>(List.of("create")));
+                    context.put("id", 100L + context.getChain());
+                })
+                .step("get", List.of("create"), context -> branch(order, context, "get", bothBranches))
+                .step("update", List.of("create"), context -> branch(order, context, "update", bothBranches))
+                .step("delete", List.of("get", "update"), context -> order.get(context.getChain()).add("delete"))
+                .build();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            WorkflowReport report = new WorkflowScheduler(pool, 1).run(workflow, 1);
+
+            assertEquals(0, report.getFailedChains(), report.getFailures().toString());
+            List<String> steps = order.get(0);
+            assertEquals("create", steps.get(0));
+            assertEquals("delete", steps.get(3));
+            assertEquals(1, report.getStep("get").latency().getTotalCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedStepSkipsItsDependentsOnlyInItsChain() throws InterruptedException {
+        Workflow workflow = Workflow.builder("failing")
+                .step("create", context -> context.put("id", (long) context.getChain()))
+                .step("get", List.of("create"), context -> {
+                    if (context.get("id", Long.class) % 2 == 1) {
+                        throw new AssertionError("odd id");
+                    }
+                })
+                .step("delete", List.of("get"), context -> { })
+                .build();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            WorkflowReport report = new WorkflowScheduler(pool, 8).run(workflow, 100);
+
+            assertEquals(100, report.getChains());
+            assertEquals(50, report.getFailedChains());
+            assertEquals(0, report.getStep("create").failed());
+            assertEquals(50, report.getStep("get").failed());
+            assertEquals(50, report.getStep("delete").skipped());
+            assertEquals(50, report.getStep("delete").latency().getTotalCount());
+            assertEquals(100, report.getChainLatency().getTotalCount());
+            assertTrue(report.getFailures().get(0).contains("step get: java.lang.AssertionError: odd id"), report.getFailures().toString());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void badGraphsAreRejected() {
+        IllegalStateException unknown = assertThrows(IllegalStateException.class, () -> Workflow.builder("unknown")
+                .step("get", List.of("create"), context -> { })
+                .build());
+        assertTrue(unknown.getMessage().contains("unknown step 'create'"), unknown.getMessage());
+
+        IllegalStateException cycle = assertThrows(IllegalStateException.class, () -> Workflow.builder("cycle")
+                .step("create", context -> { })
+                .step("get", List.of("create", "update"), context -> { })
+                .step("update", List.of("get"), context -> { })
+                .build());
+        assertTrue(cycle.getMessage().contains("cycle among [get, update]"), cycle.getMessage());
+    }
+
+    private static void branch(Map<Integer, List<String>> order, WorkflowContext context, String step, CountDownLatch bothBranches)
+            throws InterruptedException {
+        assertEquals(100L, context.get("id", Long.class));
+        order.get(context.getChain()).add(step);
+        bothBranches.countDown();
+        assertTrue(bothBranches.await(10, TimeUnit.SECONDS), "get and update did not run at the same time");
+    }
+}
@@ -0,0 +1,10 @@
+package workflow;
+
+/**
+ * The action of one step. Throwing anything, including a failed assertion, fails the
+ * step and skips every step that depends on it in the same chain.
+ */
+@FunctionalInterface
+public interface WorkflowStep {
+    void run(WorkflowContext context) throws Exception;
+}